@@ -2,8 +2,10 @@ package com.feedbacksystem.feedback_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Background jobs, e.g. the analytics counter reconcile
 public class FeedbackBackendApplication {
 
 	public static void main(String[] args) {
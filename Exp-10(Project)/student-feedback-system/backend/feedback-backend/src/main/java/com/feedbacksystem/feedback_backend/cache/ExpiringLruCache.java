@@ -0,0 +1,128 @@
+package com.feedbacksystem.feedback_backend.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A small, bounded in-memory cache with a per-entry time-to-live.
+ * Entries are evicted in least-recently-used order once the cache is full,
+ * and are treated as missing once their TTL has passed.
+ * All operations are thread-safe.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMs;
+
+    // An access-ordered LinkedHashMap gives us LRU eviction for free
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ExpiringLruCache(int maxSize, long ttlMs) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringLruCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or null if it is absent or expired.
+     */
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                // Expired entries are dropped on read
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Returns the cached value, loading and caching it on a miss.
+     * A null result from the loader is returned but not cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMs);
+    }
+
+    /**
+     * Caches a value with an explicit expiry time (epoch millis).
+     * The expiry is capped by the cache's own TTL.
+     */
+    public void put(K key, V value, long expiresAt) {
+        long cappedExpiry = Math.min(expiresAt, System.currentTimeMillis() + ttlMs);
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, cappedExpiry));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * A snapshot of the cache counters, useful for sizing the cache.
+     */
+    public Map<String, Long> stats() {
+        return Map.of(
+                "size", (long) size(),
+                "maxSize", (long) maxSize,
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "evictions", evictions.get()
+        );
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
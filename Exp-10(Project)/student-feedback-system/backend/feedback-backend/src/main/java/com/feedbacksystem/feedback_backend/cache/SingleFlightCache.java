@@ -0,0 +1,78 @@
+package com.feedbacksystem.feedback_backend.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A per-node result cache with a short time-to-live and single-flight loading:
+ * when many threads ask for the same missing or expired key at once, only one
+ * of them runs the loader and the others wait for (and share) its result.
+ * Failed loads are not cached.
+ */
+public class SingleFlightCache<K, V> {
+
+    private final long ttlMs;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public SingleFlightCache(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        long now = System.currentTimeMillis();
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null || entry.isExpired(now)) {
+            // compute() is atomic per key, so exactly one caller installs the new future
+            Entry<V> fresh = new Entry<>(new CompletableFuture<>());
+            Entry<V> winner = entries.compute(key, (k, current) ->
+                    current == null || current.isExpired(now) ? fresh : current);
+
+            if (winner == fresh) {
+                load(key, fresh, loader);
+            }
+            entry = winner;
+        }
+
+        try {
+            return entry.future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw ex;
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    private void load(K key, Entry<V> entry, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            entry.expiresAt = System.currentTimeMillis() + ttlMs;
+            entry.future.complete(value);
+        } catch (RuntimeException ex) {
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(ex);
+        }
+    }
+
+    private static class Entry<V> {
+        private final CompletableFuture<V> future;
+        // Stays at MAX_VALUE while the load is in flight, so waiters never start a second one
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(CompletableFuture<V> future) {
+            this.future = future;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import org.bson.Document;
+
+import java.util.Set;
+
+/**
+ * One observed write to a watched collection.
+ *
+ * @param collection    The collection name, e.g. "users" (null for an "invalidate" event).
+ * @param operation     "insert", "update", "replace", "delete", or "invalidate" when listeners
+ *                      must assume they missed changes and drop everything they derived.
+ * @param documentId    The _id of the document, as a string.
+ * @param document      The document as it is now (null for deletes; without the feedback thread).
+ * @param updatedFields The top-level fields an update changed, or null if unknown (e.g. when polling).
+ *                      The feedback thread is never included.
+ * @param position      Where to resume after this event: a change stream resume token (as JSON),
+ *                      or a polling timestamp.
+ */
+public record ChangeEvent(String collection, String operation, String documentId, Document document,
+                          Set<String> updatedFields, String position) {
+
+    public static final String INSERT = "insert";
+    public static final String UPDATE = "update";
+    public static final String REPLACE = "replace";
+    public static final String DELETE = "delete";
+    public static final String INVALIDATE = "invalidate";
+
+    public static ChangeEvent invalidate(String position) {
+        return new ChangeEvent(null, INVALIDATE, null, null, null, position);
+    }
+
+    public boolean isInvalidate() {
+        return INVALIDATE.equals(operation);
+    }
+
+    /**
+     * Whether the event may have changed the given field (always true when that is unknown).
+     */
+    public boolean mayHaveChanged(String field) {
+        return !UPDATE.equals(operation) || updatedFields == null || updatedFields.contains(field);
+    }
+}
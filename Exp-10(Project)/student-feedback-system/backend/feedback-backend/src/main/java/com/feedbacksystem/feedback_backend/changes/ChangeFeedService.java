@@ -0,0 +1,363 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import com.feedbacksystem.feedback_backend.model.ChangeFeedOffset;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.User;
+import com.mongodb.MongoCommandException;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Observes the writes to the feedback and users collections, whichever instance made them,
+ * and hands them to every {@link ChangeListener} bean (feedback.changes.enabled).
+ * <p>
+ * One source thread reads a MongoDB change stream, or polls a standalone server that has
+ * none, and publishes each change to a {@link ChangeRingBuffer}. Every listener reads the
+ * buffer on its own thread, so a slow listener neither holds up the others nor the source;
+ * one that falls a whole buffer behind is sent an "invalidate" event instead of what it missed.
+ * <p>
+ * The position up to which every listener has handled the changes is saved every
+ * feedback.changes.checkpoint-interval-ms, and once more on shutdown, so a restart continues
+ * right after it. Only the changes handled after the last checkpoint before a crash are
+ * delivered again (with polling, also those inside the overlap window). If the change stream
+ * no longer reaches back that far, the feed starts from now with an "invalidate" event.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final String MODE_CHANGE_STREAM = "change-stream";
+    public static final String MODE_POLLING = "polling";
+    private static final String MODE_AUTO = "auto";
+
+    // The resume token is older than the oldest oplog entry, or cannot be used any more
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+
+    // An idle listener thread sleeps until the source publishes; this only bounds a lost wakeup
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SHUTDOWN_DRAIN_MS = 2_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired(required = false)
+    private List<ChangeListener> listeners = List.of();
+
+    @Value("${feedback.changes.enabled:false}")
+    private boolean enabled;
+
+    @Value("${feedback.changes.mode:auto}")
+    private String requestedMode;
+
+    @Value("${feedback.changes.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${feedback.changes.consumer-id:}")
+    private String consumerId;
+
+    @Value("${feedback.changes.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    @Value("${feedback.changes.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${feedback.changes.poll-overlap-ms:5000}")
+    private long pollOverlapMs;
+
+    private ChangeRingBuffer<ChangeEvent> buffer;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private Thread sourceThread;
+    private volatile boolean running;
+    private volatile String mode;
+
+    // Everything published so far ends at this position; set after the matching publish
+    private volatile String latestPosition;
+    private volatile String savedPosition;
+    private final AtomicLong checkpoints = new AtomicLong();
+
+    /**
+     * Starts the feed once the application is up, so an unreachable database never delays startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!StringUtils.hasText(consumerId)) {
+            consumerId = defaultConsumerId();
+        }
+        buffer = new ChangeRingBuffer<>(bufferSize);
+        running = true;
+        for (ChangeListener listener : listeners) {
+            Subscriber subscriber = new Subscriber(listener, buffer.reader());
+            subscriber.thread.start();
+            subscribers.add(subscriber);
+        }
+
+        sourceThread = new Thread(this::runSource, "changes-source");
+        sourceThread.setDaemon(true);
+        sourceThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        sourceThread.interrupt();
+        subscribers.forEach(Subscriber::wake);
+        // Let the listeners finish what was already published, so the last checkpoint covers it
+        long deadline = System.currentTimeMillis() + SHUTDOWN_DRAIN_MS;
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        checkpoint();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Saves the position up to which every listener has handled the changes.
+     */
+    @Scheduled(fixedDelayString = "${feedback.changes.checkpoint-interval-ms:1000}")
+    public void checkpoint() {
+        if (buffer == null || mode == null) {
+            return;
+        }
+        // Read the position before the cursor: the source sets it only after publishing up to it
+        String position = latestPosition;
+        long published = buffer.getCursor();
+        long handled = subscribers.stream()
+                .mapToLong(subscriber -> subscriber.reader.getProcessed())
+                .min()
+                .orElse(published);
+
+        if (handled < published) {
+            ChangeEvent lastHandled = buffer.get(handled);
+            if (lastHandled == null) {
+                // Nothing handled yet, or a listener is about to skip ahead; try again next time
+                return;
+            }
+            position = lastHandled.position();
+        }
+        if (Objects.equals(position, savedPosition)) {
+            return;
+        }
+        try {
+            mongoTemplate.save(new ChangeFeedOffset(consumerId, mode, position, LocalDateTime.now()));
+            savedPosition = position;
+            checkpoints.incrementAndGet();
+        } catch (RuntimeException ex) {
+            logger.warn("Could not save the change feed position: {}", ex.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("mode", mode);
+        stats.put("consumerId", consumerId);
+        stats.put("published", buffer != null ? buffer.getCursor() : 0);
+        stats.put("checkpoints", checkpoints.get());
+        Map<String, Object> listenerStats = new LinkedHashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            listenerStats.put(subscriber.listener.name(), Map.of(
+                    "handled", subscriber.reader.getProcessed(),
+                    "lag", subscriber.reader.getLag(),
+                    "invalidations", subscriber.invalidations.get(),
+                    "failures", subscriber.failures.get()));
+        }
+        stats.put("listeners", listenerStats);
+        return stats;
+    }
+
+    private void runSource() {
+        ChangeSource source;
+        try {
+            source = createSource();
+        } catch (RuntimeException ex) {
+            logger.error("Change feed not started: {}", ex.getMessage());
+            return;
+        }
+        mode = source.mode();
+
+        ChangeFeedOffset offset = mongoTemplate.findById(consumerId, ChangeFeedOffset.class);
+        if (offset != null && mode.equals(offset.getMode())) {
+            latestPosition = offset.getPosition();
+            savedPosition = latestPosition;
+        }
+        logger.info("Change feed started ({}, consumer '{}', {} listeners, {})", mode, consumerId,
+                subscribers.size(), latestPosition != null ? "resuming" : "from now");
+
+        ChangeSource.Sink sink = new ChangeSource.Sink() {
+            @Override
+            public void publish(ChangeEvent event) {
+                buffer.publish(event);
+                latestPosition = event.position();
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.wake();
+                }
+            }
+
+            @Override
+            public void reached(String position) {
+                latestPosition = position;
+            }
+        };
+
+        while (running) {
+            try {
+                source.run(latestPosition, sink);
+            } catch (InterruptedException ex) {
+                return;
+            } catch (MongoCommandException ex) {
+                if (ex.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || ex.getErrorCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    logger.warn("Cannot resume the change stream ({}); continuing from now", ex.getErrorCodeName());
+                    sink.publish(ChangeEvent.invalidate(null));
+                    continue;
+                }
+                retryLater(ex);
+            } catch (RuntimeException ex) {
+                retryLater(ex);
+            }
+        }
+    }
+
+    private void retryLater(RuntimeException ex) {
+        if (!running) {
+            return;
+        }
+        logger.warn("Change feed interrupted, retrying in {} ms: {}", retryDelayMs, ex.getMessage());
+        try {
+            Thread.sleep(retryDelayMs);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private ChangeSource createSource() {
+        List<String> collections = List.of(
+                mongoTemplate.getCollectionName(Feedback.class),
+                mongoTemplate.getCollectionName(User.class));
+
+        String resolved = requestedMode;
+        if (MODE_AUTO.equals(resolved)) {
+            // Change streams need a replica set member or a mongos
+            Document hello = mongoTemplate.getDb().runCommand(new Document("hello", 1));
+            resolved = (hello.containsKey("setName") || "isdbgrid".equals(hello.get("msg")))
+                    ? MODE_CHANGE_STREAM
+                    : MODE_POLLING;
+        }
+        return switch (resolved) {
+            case MODE_CHANGE_STREAM -> new ChangeStreamSource(mongoTemplate.getDb(), collections);
+            case MODE_POLLING -> new PollingChangeSource(mongoTemplate, collections, pollIntervalMs, pollOverlapMs);
+            default -> throw new IllegalArgumentException("Unknown feedback.changes.mode: " + requestedMode);
+        };
+    }
+
+    private static String defaultConsumerId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "feedback-backend";
+        }
+    }
+
+    /**
+     * One listener and its reader, with the thread that feeds the one to the other.
+     */
+    private class Subscriber {
+
+        private final ChangeListener listener;
+        private final ChangeRingBuffer<ChangeEvent>.Reader reader;
+        private final Thread thread;
+        private final AtomicLong invalidations = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        // Set while the thread is (about to be) parked, so publishing only unparks idle threads
+        private volatile boolean idle;
+
+        Subscriber(ChangeListener listener, ChangeRingBuffer<ChangeEvent>.Reader reader) {
+            this.listener = listener;
+            this.reader = reader;
+            this.thread = new Thread(this::run, "changes-" + listener.name());
+            this.thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (true) {
+                ChangeEvent event = reader.poll();
+                if (reader.takeMissed() > 0) {
+                    deliver(ChangeEvent.invalidate(null));
+                }
+                if (event == null) {
+                    reader.markProcessed();
+                    if (!running) {
+                        return;
+                    }
+                    idle = true;
+                    // Checked after announcing it: a publish in between has seen the flag and unparks us
+                    if (reader.getLag() == 0 && running) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    idle = false;
+                    continue;
+                }
+                deliver(event);
+                reader.markProcessed();
+            }
+        }
+
+        void wake() {
+            if (idle) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void deliver(ChangeEvent event) {
+            if (event.isInvalidate()) {
+                invalidations.incrementAndGet();
+            }
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException ex) {
+                // One bad event must not stop the listener
+                failures.incrementAndGet();
+                logger.warn("Change listener '{}' failed on {} {}: {}", listener.name(),
+                        event.operation(), event.documentId(), ex.getMessage());
+            }
+        }
+    }
+}
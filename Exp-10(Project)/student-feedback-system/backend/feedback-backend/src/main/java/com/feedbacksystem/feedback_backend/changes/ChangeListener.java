@@ -0,0 +1,20 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+/**
+ * Receives the changes observed by {@link ChangeFeedService}. Every listener bean is
+ * picked up automatically and gets its own thread, so a slow listener never delays the others.
+ * Events may be delivered more than once after a crash, so handling them must be idempotent.
+ */
+public interface ChangeListener {
+
+    /**
+     * Short name, used for the listener's thread and in the stats.
+     */
+    String name();
+
+    /**
+     * Handles one change. An "invalidate" event means changes may have been missed,
+     * so anything derived from the watched collections should be dropped.
+     */
+    void onChange(ChangeEvent event);
+}
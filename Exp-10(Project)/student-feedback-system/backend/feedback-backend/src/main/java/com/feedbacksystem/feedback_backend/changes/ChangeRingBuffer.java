@@ -0,0 +1,165 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free ring buffer with one producer and any number of readers.
+ * <p>
+ * Every published item gets the next sequence number; each {@link Reader} walks the
+ * sequence at its own pace. The producer never waits: once a reader falls more than
+ * {@code capacity} items behind, the items it has not read yet are overwritten, and the
+ * reader skips ahead and reports how many it missed instead of blocking the others.
+ * <p>
+ * {@link #publish} must only ever be called from one thread at a time.
+ */
+public class ChangeRingBuffer<E> {
+
+    // Marks a slot the producer is writing to
+    private static final long WRITING = -1L;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    // The sequence each slot currently holds; read before and after the item to detect overwrites
+    private final AtomicLongArray slotSequences;
+    // The last published sequence (0 before the first item)
+    private final AtomicLong cursor = new AtomicLong();
+
+    public ChangeRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.slotSequences = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Appends an item, overwriting the oldest one once the buffer is full.
+     *
+     * @return The item's sequence number (1 for the first item).
+     */
+    public long publish(E item) {
+        long sequence = cursor.get() + 1;
+        int index = (int) (sequence & mask);
+        slotSequences.set(index, WRITING);
+        slots.set(index, item);
+        slotSequences.set(index, sequence);
+        cursor.set(sequence);
+        return sequence;
+    }
+
+    /**
+     * The sequence of the last published item.
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Reads the item with the given sequence, or null if it was not published yet
+     * or has already been overwritten.
+     */
+    public E get(long sequence) {
+        if (sequence < 1 || sequence > cursor.get()) {
+            return null;
+        }
+        int index = (int) (sequence & mask);
+        if (slotSequences.get(index) != sequence) {
+            return null;
+        }
+        E item = slots.get(index);
+        // Still the same sequence after reading the item, so it was not overwritten meanwhile
+        return (slotSequences.get(index) == sequence) ? item : null;
+    }
+
+    /**
+     * A new reader that starts with the next item published.
+     */
+    public Reader reader() {
+        return new Reader(cursor.get() + 1);
+    }
+
+    /**
+     * A reader that starts with the item after the given sequence
+     * (or with the oldest item still in the buffer, if that one is gone).
+     */
+    public Reader readerAfter(long sequence) {
+        return new Reader(sequence + 1);
+    }
+
+    /**
+     * One reader's position in the buffer. A reader must only be used by one thread.
+     */
+    public class Reader {
+
+        private long next;
+        // Written by the reading thread, read by others (e.g. for checkpoints)
+        private volatile long processed;
+        private long missed;
+
+        private Reader(long next) {
+            this.next = next;
+            this.processed = next - 1;
+        }
+
+        /**
+         * The next item, or null if there is none yet. If items were overwritten before
+         * this reader got to them, they are skipped and counted in {@link #takeMissed()}.
+         */
+        public E poll() {
+            while (true) {
+                long published = cursor.get();
+                if (next > published) {
+                    return null;
+                }
+                E item = get(next);
+                if (item != null) {
+                    next++;
+                    return item;
+                }
+                // Overwritten: continue with the oldest item that can still be there
+                long oldest = Math.max(next + 1, published - capacity + 1);
+                missed += oldest - next;
+                next = oldest;
+            }
+        }
+
+        /**
+         * Marks everything returned by {@link #poll()} so far as handled.
+         */
+        public void markProcessed() {
+            processed = next - 1;
+        }
+
+        /**
+         * The sequence up to which this reader has handled every item it was given.
+         */
+        public long getProcessed() {
+            return processed;
+        }
+
+        /**
+         * How many items this reader skipped since the last call, and resets the count.
+         */
+        public long takeMissed() {
+            long count = missed;
+            missed = 0;
+            return count;
+        }
+
+        /**
+         * How many published items this reader has not read yet.
+         */
+        public long getLag() {
+            return Math.max(0, cursor.get() - (next - 1));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+/**
+ * Where ChangeFeedService gets its changes from: a MongoDB change stream, or polling.
+ */
+interface ChangeSource {
+
+    String mode();
+
+    /**
+     * Publishes changes until the thread is interrupted.
+     *
+     * @param startAfter The position of the last change already handled, or null to start now.
+     */
+    void run(String startAfter, Sink sink) throws InterruptedException;
+
+    interface Sink {
+
+        void publish(ChangeEvent event);
+
+        /**
+         * Everything up to this position has been published (e.g. a change stream's
+         * post-batch resume token while nothing is happening).
+         */
+        void reached(String position);
+    }
+}
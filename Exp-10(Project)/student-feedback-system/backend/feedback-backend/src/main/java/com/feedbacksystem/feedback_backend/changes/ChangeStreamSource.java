@@ -0,0 +1,111 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails one change stream on the database, filtered to the watched collections.
+ * Needs a replica set (a single-node one is enough) or a sharded cluster.
+ */
+class ChangeStreamSource implements ChangeSource {
+
+    private final MongoDatabase database;
+    private final List<String> collections;
+
+    ChangeStreamSource(MongoDatabase database, List<String> collections) {
+        this.database = database;
+        this.collections = collections;
+    }
+
+    @Override
+    public String mode() {
+        return ChangeFeedService.MODE_CHANGE_STREAM;
+    }
+
+    @Override
+    public void run(String startAfter, Sink sink) {
+        ChangeStreamIterable<Document> stream = database.watch(List.of(
+                        Aggregates.match(Filters.in("ns.coll", collections)),
+                        // The feedback thread can be large and no listener needs it
+                        Aggregates.project(Projections.exclude(
+                                "fullDocument.thread", "updateDescription.updatedFields.thread"))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (startAfter != null) {
+            stream.resumeAfter(BsonDocument.parse(startAfter));
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    sink.publish(toEvent(change));
+                } else if (cursor.getResumeToken() != null) {
+                    // Idle: the token still moves forward, so a restart does not rescan the oplog
+                    sink.reached(cursor.getResumeToken().toJson());
+                }
+            }
+        }
+    }
+
+    private static ChangeEvent toEvent(ChangeStreamDocument<Document> change) {
+        String position = change.getResumeToken().toJson();
+        String operation = change.getOperationTypeString();
+        if (!List.of(ChangeEvent.INSERT, ChangeEvent.UPDATE, ChangeEvent.REPLACE, ChangeEvent.DELETE).contains(operation)) {
+            // drop, rename, dropDatabase or invalidate: whatever was derived from the collection is stale
+            return ChangeEvent.invalidate(position);
+        }
+
+        Set<String> updatedFields = null;
+        UpdateDescription update = change.getUpdateDescription();
+        if (update != null) {
+            updatedFields = new HashSet<>();
+            if (update.getUpdatedFields() != null) {
+                update.getUpdatedFields().keySet().forEach(updatedFields::add);
+            }
+            if (update.getRemovedFields() != null) {
+                updatedFields.addAll(update.getRemovedFields());
+            }
+            // "resolutionLog.timestamp" style paths count as a change of their top-level field
+            updatedFields = topLevel(updatedFields);
+        }
+
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        return new ChangeEvent(change.getNamespace().getCollectionName(), operation, idToString(id),
+                change.getFullDocument(), updatedFields, position);
+    }
+
+    private static Set<String> topLevel(Set<String> paths) {
+        Set<String> fields = new HashSet<>();
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            fields.add(dot < 0 ? path : path.substring(0, dot));
+        }
+        return fields;
+    }
+
+    private static String idToString(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+}
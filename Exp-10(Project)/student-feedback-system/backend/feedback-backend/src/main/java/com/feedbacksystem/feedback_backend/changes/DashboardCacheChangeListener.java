@@ -0,0 +1,35 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.service.FeedbackService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the cached dashboard analytics when feedback is added, removed or changes status
+ * on any instance, instead of waiting for the cache to expire.
+ */
+@Component
+public class DashboardCacheChangeListener implements ChangeListener {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public String name() {
+        return "dashboard-cache";
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.isInvalidate()
+                || (mongoTemplate.getCollectionName(Feedback.class).equals(event.collection())
+                    && event.mayHaveChanged("status"))) {
+            feedbackService.invalidateDashboardAnalytics();
+        }
+    }
+}
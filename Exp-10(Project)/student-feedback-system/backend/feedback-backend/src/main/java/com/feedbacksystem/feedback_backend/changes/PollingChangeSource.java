@@ -0,0 +1,96 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fallback for a standalone MongoDB, which has no change streams: every poll interval,
+ * finds the documents whose createdAt or modifiedAt is newer than the last poll.
+ * <p>
+ * Each poll looks back an extra overlap window, so writes stamped slightly out of order
+ * (createdAt comes from the application clock) are not missed; documents already seen
+ * with the same stamp are skipped. Deletes cannot be seen this way, and the fields an
+ * update changed are unknown.
+ */
+class PollingChangeSource implements ChangeSource {
+
+    private final MongoTemplate mongoTemplate;
+    private final List<String> collections;
+    private final long intervalMs;
+    private final long overlapMs;
+
+    PollingChangeSource(MongoTemplate mongoTemplate, List<String> collections, long intervalMs, long overlapMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.collections = collections;
+        this.intervalMs = intervalMs;
+        this.overlapMs = overlapMs;
+    }
+
+    @Override
+    public String mode() {
+        return ChangeFeedService.MODE_POLLING;
+    }
+
+    @Override
+    public void run(String startAfter, Sink sink) throws InterruptedException {
+        LocalDateTime position = (startAfter != null) ? LocalDateTime.parse(startAfter) : LocalDateTime.now();
+        // collection:id -> stamp, for the documents inside the overlap window
+        Map<String, LocalDateTime> seen = new HashMap<>();
+
+        while (!Thread.currentThread().isInterrupted()) {
+            LocalDateTime from = position.minusNanos(overlapMs * 1_000_000);
+            LocalDateTime newest = position;
+            for (String collection : collections) {
+                Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("createdAt").gt(from),
+                        Criteria.where("modifiedAt").gt(from)));
+                query.fields().exclude("thread");
+
+                for (Document document : mongoTemplate.find(query, Document.class, collection)) {
+                    LocalDateTime modifiedAt = toLocalDateTime(document.get("modifiedAt"));
+                    LocalDateTime stamp = latest(toLocalDateTime(document.get("createdAt")), modifiedAt);
+                    String id = idToString(document.get("_id"));
+                    if (stamp == null || stamp.equals(seen.put(collection + ":" + id, stamp))) {
+                        continue;
+                    }
+                    newest = latest(newest, stamp);
+                    // A restart resumes from the last completed poll, so that is every event's position
+                    sink.publish(new ChangeEvent(collection,
+                            modifiedAt == null ? ChangeEvent.INSERT : ChangeEvent.UPDATE,
+                            id, document, null, position.toString()));
+                }
+            }
+
+            position = newest;
+            sink.reached(position.toString());
+            LocalDateTime windowStart = position.minusNanos(overlapMs * 1_000_000);
+            seen.values().removeIf(stamp -> stamp.isBefore(windowStart));
+            Thread.sleep(intervalMs);
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return (b == null || a.isAfter(b)) ? a : b;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return (value instanceof Date date) ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    private static String idToString(Object id) {
+        return (id instanceof ObjectId objectId) ? objectId.toHexString() : String.valueOf(id);
+    }
+}
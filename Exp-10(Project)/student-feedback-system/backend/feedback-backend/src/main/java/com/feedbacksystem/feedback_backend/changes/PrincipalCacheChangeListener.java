@@ -0,0 +1,44 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.service.CustomUserDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops a cached principal as soon as its user document changes on any instance,
+ * e.g. a role change or a session revocation handled by another replica.
+ */
+@Component
+public class PrincipalCacheChangeListener implements ChangeListener {
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public String name() {
+        return "principal-cache";
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.isInvalidate()) {
+            customUserDetailsService.evictAll();
+            return;
+        }
+        if (!mongoTemplate.getCollectionName(User.class).equals(event.collection())) {
+            return;
+        }
+        Object email = (event.document() != null) ? event.document().get("email") : null;
+        if (email != null) {
+            customUserDetailsService.evictUser(email.toString());
+        } else {
+            // A delete only carries the _id, and the cache is keyed by email
+            customUserDetailsService.evictAll();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.security.TokenVersionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the TokenVersionRegistry in step with session revocations made on other instances,
+ * so a revoked JWT is refused everywhere, not only by the replica that revoked it.
+ */
+@Component
+public class TokenVersionChangeListener implements ChangeListener {
+
+    private static final String TOKEN_VERSION = "tokenVersion";
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public String name() {
+        return "token-versions";
+    }
+
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.isInvalidate()) {
+            // A revocation may have been missed; reload every user that was ever revoked
+            tokenVersionRegistry.reloadRevoked();
+            return;
+        }
+        if (!mongoTemplate.getCollectionName(User.class).equals(event.collection())
+                || event.document() == null || !event.mayHaveChanged(TOKEN_VERSION)) {
+            return;
+        }
+        Object email = event.document().get("email");
+        if (email != null && event.document().get(TOKEN_VERSION) instanceof Number version && version.intValue() > 0) {
+            tokenVersionRegistry.recordVersion(email.toString(), version.intValue());
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.feedbacksystem.feedback_backend.config;
 
+import com.feedbacksystem.feedback_backend.ratelimit.RateLimitFilter;
+import com.feedbacksystem.feedback_backend.security.BCryptCalibration;
 import com.feedbacksystem.feedback_backend.security.JwtAuthenticationFilter;
 import com.feedbacksystem.feedback_backend.service.CustomUserDetailsService; // Ensure this import is correct
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,6 +37,25 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // 0 = calibrate at startup (see BCryptCalibration)
+    @Value("${security.password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password.bcrypt.target-ms:100}")
+    private long bcryptTargetMs;
+
+    @Value("${security.password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${security.password.rehash-on-login:true}")
+    private boolean rehashOnLogin;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -40,6 +63,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async dispatches (streamed responses) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
@@ -47,7 +72,9 @@ public class SecurityConfig {
                 // THIS IS CRITICAL: It forces Spring to use our provider
                 .authenticationProvider(authenticationProvider())
 
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Runs after the JWT filter, so per-user limits know who is calling
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -58,6 +85,10 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService); // Tell it how to find users
         authProvider.setPasswordEncoder(passwordEncoder()); // Tell it how to check passwords (with BCrypt)
+        if (rehashOnLogin) {
+            // Hashes made at a lower strength are replaced after a successful login
+            authProvider.setUserDetailsPasswordService(customUserDetailsService);
+        }
         return authProvider;
     }
 
@@ -68,10 +99,11 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
-    // This bean defines the password encryption
+    // This bean defines the password encryption, at the configured or calibrated strength
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(BCryptCalibration.resolveStrength(
+                bcryptStrength, bcryptTargetMs, bcryptMinStrength, bcryptMaxStrength));
     }
 
     // This bean configures CORS
@@ -0,0 +1,57 @@
+package com.feedbacksystem.feedback_backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request threading mode and the limits that go with it.
+ * <p>
+ * By default Tomcat serves requests from its pool of platform threads (server.tomcat.threads.max),
+ * so that pool caps how many requests can wait on MongoDB at once. With
+ * spring.threads.virtual.enabled=true (the "virtual" profile) on Java 21+, Spring Boot runs each
+ * request, the streamed exports and the applicationTaskExecutor on virtual threads instead, and
+ * the cap moves to the MongoDB connection pool configured here: requests queue for a connection
+ * for at most max-wait-ms rather than for a thread.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${feedback.mongo.max-pool-size:100}")
+    private int maxPoolSize;
+
+    @Value("${feedback.mongo.max-wait-ms:120000}")
+    private long maxWaitMs;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < 21) {
+            // Spring Boot silently falls back to platform threads in this case
+            logger.warn("spring.threads.virtual.enabled is set, but virtual threads need Java 21+ (running on {}); "
+                    + "requests are served by platform threads", javaVersion);
+        } else {
+            logger.info("Serving requests on {} threads (MongoDB pool: {} connections, max wait {} ms)",
+                    virtualThreadsRequested ? "virtual" : "platform", maxPoolSize, maxWaitMs);
+        }
+    }
+}
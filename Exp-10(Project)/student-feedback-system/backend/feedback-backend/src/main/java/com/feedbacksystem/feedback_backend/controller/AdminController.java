@@ -3,21 +3,54 @@ package com.feedbacksystem.feedback_backend.controller;
 // --- YEH SAARI 'IMPORT' STATEMENTS HAIN ---
 // Yeh Java ko batati hain ki hum kaun si dusri files (jaise DTOs, Models, Services)
 // is file mein use karne wale hain.
-import com.feedbacksystem.feedback_backend.dto.AnalyticsDTO;
+import com.feedbacksystem.feedback_backend.changes.ChangeFeedService;
+import com.feedbacksystem.feedback_backend.dto.BulkReplyDTO;
+import com.feedbacksystem.feedback_backend.dto.BulkResultDTO;
+import com.feedbacksystem.feedback_backend.dto.BulkStatusDTO;
+import com.feedbacksystem.feedback_backend.dto.CursorPageDTO;
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminSummaryDTO;
 import com.feedbacksystem.feedback_backend.dto.FeedbackAdminViewDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.RatingDistributionDTO;
+import com.feedbacksystem.feedback_backend.dto.ImportReportDTO;
 import com.feedbacksystem.feedback_backend.dto.ReplyDTO;
+import com.feedbacksystem.feedback_backend.dto.ResolutionTimeDTO;
+import com.feedbacksystem.feedback_backend.dto.SearchPageDTO;
 import com.feedbacksystem.feedback_backend.dto.StatusDTO;
+import com.feedbacksystem.feedback_backend.dto.ThreadPageDTO;
+import com.feedbacksystem.feedback_backend.dto.TrendPointDTO;
+import com.feedbacksystem.feedback_backend.exception.FeedbackConflictException;
+import com.feedbacksystem.feedback_backend.ingest.SubmissionIngestService;
 import com.feedbacksystem.feedback_backend.model.Feedback;
-import com.feedbacksystem.feedback_backend.model.User;
-import com.feedbacksystem.feedback_backend.repository.UserRepository;
+import com.feedbacksystem.feedback_backend.ratelimit.RateLimitFilter;
+import com.feedbacksystem.feedback_backend.security.PasswordHashingService;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import com.feedbacksystem.feedback_backend.service.AdminEventService;
+import com.feedbacksystem.feedback_backend.service.AnalyticsCounterService;
+import com.feedbacksystem.feedback_backend.service.AnalyticsRollupService;
+import com.feedbacksystem.feedback_backend.service.CommentBucketService;
+import com.feedbacksystem.feedback_backend.service.CustomUserDetailsService;
+import com.feedbacksystem.feedback_backend.service.FeedbackBulkService;
+import com.feedbacksystem.feedback_backend.service.FeedbackImportService;
 import com.feedbacksystem.feedback_backend.service.FeedbackService;
+import com.feedbacksystem.feedback_backend.service.SessionRevocationService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -31,50 +64,234 @@ import java.util.Map;
 @RequestMapping("/api/admin") // Iska matlab hai ki is file ke saare API URLs "/api/admin" se shuru honge.
 public class AdminController {
 
+    // Trend/rating/resolution charts by default pichhle 90 din dikhate hain.
+    private static final int DEFAULT_RANGE_DAYS = 90;
+
     // @Autowired Spring se bolta hai ki "Mujhe FeedbackService file ka ek object bana kar do."
     // Hum is service ko use karke database se baat karenge.
     @Autowired
     private FeedbackService feedbackService;
 
-    // @Autowired Spring se bolta hai ki "Mujhe UserRepository file ka ek object do."
-    // Hum ise admin ka ID find karne ke liye use karenge.
+    // Analytics counters ko rebuild karne ke liye.
+    @Autowired
+    private AnalyticsCounterService analyticsCounterService;
+
+    // Lambe threads ke purane comments (comment buckets) padhne ke liye.
+    @Autowired
+    private CommentBucketService commentBucketService;
+
+    // Bulk import (NDJSON/CSV) ke liye.
+    @Autowired
+    private FeedbackImportService feedbackImportService;
+
+    // Trend charts ke daily rollups ke liye.
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    // Principal cache ke counters dikhane ke liye.
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    // User ke saare JWT tokens revoke karne ke liye.
+    @Autowired
+    private SessionRevocationService sessionRevocationService;
+
+    @Autowired
+    private SubmissionIngestService submissionIngestService;
+
+    @Autowired
+    private FeedbackBulkService feedbackBulkService;
+
+    // Dashboard ko live updates (Server-Sent Events) bhejne ke liye.
+    @Autowired
+    private AdminEventService adminEventService;
+
+    // Doosre instances ke writes dekhne wala change feed (sirf stats ke liye).
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // Login/register ke password hashing threads (sirf stats ke liye).
     @Autowired
-    private UserRepository userRepository;
+    private PasswordHashingService passwordHashingService;
+
+    // Login/register/submit ki rate limiting (sirf stats ke liye).
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
 
     /**
-     * GET endpoint for admins to fetch ALL feedback. (Module 4)
-     * (Yeh GET API endpoint hai admin dashboard ke liye)
-     * URL: GET /api/admin/feedback
+     * GET endpoint for admins to fetch feedback, one page at a time. (Module 4)
+     * (Yeh GET API endpoint hai admin dashboard ke liye - ab poora collection ek saath nahi aata)
+     * Each row is a lightweight summary (no thread); the full item comes from /feedback/{id}.
+     * URL: GET /api/admin/feedback?status=open&category=Courses&limit=50&cursor=...
      * This endpoint respects the isAnonymous flag.
      * (Yeh 'anonymous' flag ko check karega)
      */
     @GetMapping("/feedback")
-    public ResponseEntity<List<FeedbackAdminViewDTO>> getAllFeedback() {
-        // Hum FeedbackService ko bol rahe hain "getAllFeedbackForAdmin" function chalao.
-        List<FeedbackAdminViewDTO> feedbackList = feedbackService.getAllFeedbackForAdmin();
-        // Yeh line feedback list ko JSON ke form mein '200 OK' response ke sath bhej deti hai.
-        return ResponseEntity.ok(feedbackList);
+    public ResponseEntity<CursorPageDTO<FeedbackAdminSummaryDTO>> getAllFeedback(
+            @RequestParam(required = false) String status,   // Optional status filter
+            @RequestParam(required = false) String category, // Optional category filter
+            @RequestParam(required = false) String cursor,   // Pichle page ka 'nextCursor'
+            @RequestParam(required = false) Integer limit) { // Page size
+        // Hum FeedbackService se sirf ek page mangwa rahe hain (filters database mein hi lagte hain).
+        CursorPageDTO<FeedbackAdminSummaryDTO> page = feedbackService.getFeedbackPageForAdmin(status, category, cursor, limit);
+        // Yeh line page (items + nextCursor) ko JSON ke form mein '200 OK' response ke sath bhej deti hai.
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * GET endpoint that streams ALL matching feedback as NDJSON (one JSON object per line).
+     * (Reporting jobs ke liye - poora data bina memory bhare, batch by batch aata hai)
+     * URL: GET /api/admin/feedback/stream?status=open&category=Courses
+     */
+    @GetMapping(value = "/feedback/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllFeedback(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category) {
+        // Response body tab likhi jaati hai jab client padhta hai (streaming).
+        StreamingResponseBody body = out -> feedbackService.streamFeedbackForAdmin(
+                status, category, new BufferedOutputStream(out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    /**
+     * GET endpoint for full-text search over feedback and its replies.
+     * (Feedback aur uske comments mein shabd dhoondhta hai, sabse relevant result pehle)
+     * URL: GET /api/admin/feedback/search?q=wifi slow&status=open&category=Facilities
+     *          &minRating=1&maxRating=3&from=2026-01-01&to=2026-10-17&page=0&limit=20
+     */
+    @GetMapping("/feedback/search")
+    public ResponseEntity<SearchPageDTO<FeedbackAdminSummaryDTO>> searchFeedback(FeedbackSearchCriteria criteria) {
+        // Query parameters seedhe FeedbackSearchCriteria object mein bind ho jaate hain.
+        return ResponseEntity.ok(feedbackService.searchFeedbackForAdmin(criteria));
+    }
+
+    /**
+     * POST endpoints for importing historic feedback in bulk.
+     * (Purana survey data ek saath upload karne ke liye: NDJSON (har line ek JSON) ya CSV (header row ke saath))
+     * URL: POST /api/admin/feedback/import  (Content-Type: application/x-ndjson ya text/csv)
+     * Response mein batate hain kitni rows import hui, kitni fail hui (row number aur wajah ke saath),
+     * aur speed (docs/second).
+     */
+    @PostMapping(value = "/feedback/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportReportDTO> importNdjson(InputStream body) throws IOException {
+        ImportReportDTO report = feedbackImportService.importNdjson(body);
+        feedbackService.invalidateDashboardAnalytics();
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping(value = "/feedback/import", consumes = "text/csv")
+    public ResponseEntity<ImportReportDTO> importCsv(InputStream body) throws IOException {
+        ImportReportDTO report = feedbackImportService.importCsv(body);
+        feedbackService.invalidateDashboardAnalytics();
+        return ResponseEntity.ok(report);
     }
 
     /**
      * GET endpoint for dashboard analytics. (Module 4)
      * (Yeh GET API endpoint hai charts ke data ke liye)
      * URL: GET /api/admin/analytics
-     * Returns data for both charts.
+     * Returns data for both charts, plus the rating averages.
      */
     @GetMapping("/analytics")
-    public ResponseEntity<?> getAnalytics() {
-        // Service se status (open/resolved) ka data mangwa rahe hain.
-        List<AnalyticsDTO> statusData = feedbackService.getStatusAnalytics();
-        // Service se category (Facilities/Courses) ka data mangwa rahe hain.
-        List<AnalyticsDTO> categoryData = feedbackService.getCategoryAnalytics();
+    public ResponseEntity<DashboardAnalyticsDTO> getAnalytics() {
+        // Service se status, category aur rating ka saara data ek hi call mein mangwa rahe hain.
+        // (Yeh kuch seconds ke liye cache hota hai, taaki har refresh pe database na chale)
+        DashboardAnalyticsDTO analytics = feedbackService.getDashboardAnalytics();
+
+        // Frontend ko { "statusData": [...], "categoryData": [...], "ratingData": [...], "averageRating": 4.1 } aisa data milega.
+        return ResponseEntity.ok(analytics);
+    }
+
+    /**
+     * GET endpoint that streams live dashboard updates as Server-Sent Events:
+     * feedback-created, status-changed, reply-posted and analytics-delta.
+     * (Dashboard ek baar data load karta hai, phir sirf yeh events apply karta hai;
+     * "resync" aaye toh poora data dobara load karna hai)
+     * URL: GET /api/admin/events
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents() {
+        if (!adminEventService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = adminEventService.subscribe();
+        if (emitter == null) {
+            // Bahut saare dashboards pehle se connected hain; thodi der baad dobara try karein
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        // Proxies (e.g. nginx) ko buffering na karne ko bolte hain, taaki events turant pahunchein
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    /**
+     * POST endpoint to rebuild the analytics counters from the feedback collection.
+     * (Agar counters galat ho jaayein toh unhe dobara calculate karne ke liye)
+     * URL: POST /api/admin/analytics/rebuild
+     */
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<?> rebuildAnalytics() {
+        analyticsCounterService.rebuild();
+        feedbackService.invalidateDashboardAnalytics();
+        // Rollups ka rebuild ek time pe ek hi chalta hai (saare instances mein milakar)
+        if (!analyticsRollupService.rebuild()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body("Analytics counters rebuilt; a rollup rebuild is already running.");
+        }
+        return ResponseEntity.ok("Analytics counters and rollups rebuilt.");
+    }
+
+    /**
+     * GET endpoint for the submissions trend chart.
+     * (Har din ya har hafte kitne feedback aaye aur unki average rating kya thi)
+     * URL: GET /api/admin/analytics/trends?granularity=week&from=2026-01-01&to=2026-10-17&category=Courses
+     */
+    @GetMapping("/analytics/trends")
+    public ResponseEntity<List<TrendPointDTO>> getTrends(
+            @RequestParam(defaultValue = "day") String granularity, // "day" ya "week"
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category) {
+
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(analyticsRollupService.getSubmissionTrend(
+                start, end, category, "week".equalsIgnoreCase(granularity)));
+    }
+
+    /**
+     * GET endpoint for the rating distribution (1-5 stars) of every category.
+     * URL: GET /api/admin/analytics/ratings?from=2026-01-01&to=2026-10-17
+     */
+    @GetMapping("/analytics/ratings")
+    public ResponseEntity<List<RatingDistributionDTO>> getRatingDistributions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(analyticsRollupService.getRatingDistributions(start, end));
+    }
+
+    /**
+     * GET endpoint for time-to-resolution statistics (mean, p50, p90, p99 in hours).
+     * (Feedback resolve hone mein kitna time lagta hai)
+     * URL: GET /api/admin/analytics/resolution-times?from=2026-01-01&to=2026-10-17&category=Courses
+     */
+    @GetMapping("/analytics/resolution-times")
+    public ResponseEntity<ResolutionTimeDTO> getResolutionTimes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category) {
 
-        // Dono data ko ek JSON object mein daal kar bhej rahe hain.
-        // Frontend ko { "statusData": [...], "categoryData": [...] } aisa data milega.
-        return ResponseEntity.ok(Map.of(
-            "statusData", statusData,
-            "categoryData", categoryData
-        ));
+        LocalDate end = (to != null) ? to : LocalDate.now();
+        LocalDate start = (from != null) ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        return ResponseEntity.ok(analyticsRollupService.getResolutionTimes(start, end, category));
     }
 
     // --- YEH MODULE 5 KE NAYE ENDPOINTS HAIN ---
@@ -93,6 +310,18 @@ public class AdminController {
         return ResponseEntity.ok(feedback);
     }
 
+    /**
+     * GET endpoint for the older comments of a long thread, one page at a time.
+     * (Detail view mein sirf naye comments aate hain; purane comments yahan se page-wise milte hain)
+     * URL: GET /api/admin/feedback/{id}/thread?page=3 (page na do toh sabse naya archived page milega)
+     */
+    @GetMapping("/feedback/{id}/thread")
+    public ResponseEntity<ThreadPageDTO> getThreadPage(
+            @PathVariable String id,
+            @RequestParam(required = false) Integer page) {
+        return ResponseEntity.ok(commentBucketService.getArchivedPage(id, page));
+    }
+
     /**
      * PUT endpoint to update the status of a feedback item.
      * (Yeh PUT API endpoint hai status update karne ke liye (e.g., "open" se "resolved"))
@@ -103,10 +332,13 @@ public class AdminController {
             @PathVariable String id, // URL se feedback ID nikaal rahe hain
             // @Valid -- yeh validation rules check karta hai (DTO file se)
             // @RequestBody StatusDTO -- yeh line frontend se bheje gaye JSON ko StatusDTO object mein badal deti hai.
-            @Valid @RequestBody StatusDTO statusDTO) {
+            @Valid @RequestBody StatusDTO statusDTO,
+            // Logged-in admin (resolve karne wale admin ki ID ResolutionLog mein jaati hai)
+            @AuthenticationPrincipal UserPrincipal admin) {
         
         // Service ko bol rahe hain ki "is ID wale feedback ka status update kar do."
-        Feedback updatedFeedback = feedbackService.updateFeedbackStatus(id, statusDTO.getStatus());
+        Feedback updatedFeedback = feedbackService.updateFeedbackStatus(
+                id, statusDTO.getStatus(), admin.getId(), statusDTO.getVersion());
         // Updated feedback ko wapas frontend pe bhej rahe hain.
         return ResponseEntity.ok(updatedFeedback);
     }
@@ -120,21 +352,132 @@ public class AdminController {
     public ResponseEntity<Feedback> postReply(
             @PathVariable String id, // URL se feedback ID
             @Valid @RequestBody ReplyDTO replyDTO, // Frontend se reply ka text (JSON)
-            // Authentication object -- Spring Security is object mein logged-in user ki details (token se) daal deta hai.
-            Authentication authentication) {
-        
-        // Yeh line 'authentication' object se admin ka email nikaal rahi hai.
-        String adminEmail = authentication.getName();
-        
-        // **YEH LINE ADMIN ID FIND KAREGI** (jaisa aapne pucha tha)
-        // Hum email ka use karke database se admin ka poora User object nikaal rahe hain.
-        User admin = userRepository.findByEmail(adminEmail)
-                // Agar admin nahi mila, toh error throw karega.
-                .orElseThrow(() -> new UsernameNotFoundException("Admin user not found: " + adminEmail));
-        
+            // @AuthenticationPrincipal -- JWT filter ne jo logged-in admin (UserPrincipal) banaya tha, usme admin ka ID bhi hai.
+            @AuthenticationPrincipal UserPrincipal admin) {
+
         // Service ko bol rahe hain ki "is feedback (id) par yeh reply (replyDTO) aur admin ka ID (admin.getId()) add kar do."
         Feedback updatedFeedback = feedbackService.postReplyToFeedback(id, replyDTO, admin.getId());
         // Updated feedback (naye reply ke sath) ko wapas bhej rahe hain.
         return ResponseEntity.ok(updatedFeedback);
     }
-}
\ No newline at end of file
+
+    /**
+     * POST endpoint to change the status of many feedback items in one go.
+     * (Ek saath bahut saare feedback ka status badalne ke liye, e.g. sab "resolved" kar do)
+     * Body mein ya toh "ids" ki list aati hai, ya "filter" (search jaise fields), ya dono.
+     * URL: POST /api/admin/feedback/bulk/status
+     * Response mein har feedback ka result hota hai: updated, unchanged, not_found ya conflict.
+     * Na ids na filter, ya max-items se zyada feedback chune gaye: 400 Bad Request (kuch nahi badalta).
+     */
+    @PostMapping("/feedback/bulk/status")
+    public ResponseEntity<BulkResultDTO> bulkUpdateStatus(@Valid @RequestBody BulkStatusDTO request,
+                                                          @AuthenticationPrincipal UserPrincipal admin) {
+        BulkResultDTO result = feedbackBulkService.updateStatus(request, admin.getId());
+        feedbackService.invalidateDashboardAnalytics();
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * POST endpoint to post the same reply to many feedback items in one go.
+     * (Content mein {category}, {rating} aur {submittedOn} likh sakte hain, har feedback ke liye bhar diye jaate hain)
+     * URL: POST /api/admin/feedback/bulk/reply
+     * Galat selection par bulk/status jaisa hi 400 Bad Request.
+     */
+    @PostMapping("/feedback/bulk/reply")
+    public ResponseEntity<BulkResultDTO> bulkReply(@Valid @RequestBody BulkReplyDTO request,
+                                                   @AuthenticationPrincipal UserPrincipal admin) {
+        BulkResultDTO result = feedbackBulkService.postReply(request, admin.getId());
+        feedbackService.invalidateDashboardAnalytics();
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * GET endpoint exposing the principal cache counters (hits, misses, evictions).
+     * (Isse hum cache ka size tune kar sakte hain)
+     * URL: GET /api/admin/stats/principal-cache
+     */
+    @GetMapping("/stats/principal-cache")
+    public ResponseEntity<Map<String, Long>> getPrincipalCacheStats() {
+        return ResponseEntity.ok(customUserDetailsService.getCacheStats());
+    }
+
+    /**
+     * GET endpoint for the asynchronous submission queue counters
+     * (queue depth, accepted/rejected submissions, flush latency).
+     * (Queue kitni bhari hai aur batch writes kitna time le rahe hain, yeh dekhne ke liye)
+     * URL: GET /api/admin/stats/ingest
+     */
+    @GetMapping("/stats/ingest")
+    public ResponseEntity<Map<String, Object>> getIngestStats() {
+        return ResponseEntity.ok(submissionIngestService.getStats());
+    }
+
+    /**
+     * GET endpoint for the live dashboard stream counters (open streams, queued events).
+     * URL: GET /api/admin/stats/events
+     */
+    @GetMapping("/stats/events")
+    public ResponseEntity<Map<String, Object>> getEventStats() {
+        return ResponseEntity.ok(adminEventService.getStats());
+    }
+
+    /**
+     * GET endpoint for the password hashing pool (busy threads, queued and rejected logins).
+     * (Login storm ke time queue aur "rejected" badhte dikhenge)
+     * URL: GET /api/admin/stats/password-hashing
+     */
+    @GetMapping("/stats/password-hashing")
+    public ResponseEntity<Map<String, Long>> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    /**
+     * GET endpoint for the change feed: its mode, and how far behind each listener is.
+     * (Agar koi listener peeche reh gaya hai toh "lag" badhta dikhega)
+     * URL: GET /api/admin/stats/changes
+     */
+    @GetMapping("/stats/changes")
+    public ResponseEntity<Map<String, Object>> getChangeFeedStats() {
+        return ResponseEntity.ok(changeFeedService.getStats());
+    }
+
+    /**
+     * GET endpoint for the rate limiter: its store, tracked clients and allowed/rejected counts.
+     * (Agar "rejected" tezi se badh raha hai toh koi client limit se zyada requests bhej raha hai)
+     * URL: GET /api/admin/stats/rate-limit
+     */
+    @GetMapping("/stats/rate-limit")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimitFilter.getStats());
+    }
+
+    /**
+     * POST endpoint to log a user out everywhere by revoking all their tokens.
+     * (Is user ke saare purane tokens ab kaam nahi karenge)
+     * URL: POST /api/admin/users/{email}/revoke-sessions
+     */
+    @PostMapping("/users/{email}/revoke-sessions")
+    public ResponseEntity<?> revokeSessions(@PathVariable String email) {
+        int tokenVersion = sessionRevocationService.revokeAllSessions(email);
+        return ResponseEntity.ok(Map.of("email", email, "tokenVersion", tokenVersion));
+    }
+
+    /**
+     * Jab admin purane version par edit karta hai (kisi aur ne beech mein feedback badal diya),
+     * toh 409 Conflict ke saath feedback ki current state bhejte hain,
+     * taaki admin naya data dekh kar dobara decide kar sake.
+     */
+    @ExceptionHandler(FeedbackConflictException.class)
+    public ResponseEntity<Feedback> handleConflict(FeedbackConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getCurrent());
+    }
+
+    /**
+     * Galat request (e.g. search mein "q" nahi diya, ya max-results se aage ka page maanga)
+     * par 500 nahi, balki 400 Bad Request aur wajah ka message bhejte hain.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body("Error: " + ex.getMessage());
+    }
+}
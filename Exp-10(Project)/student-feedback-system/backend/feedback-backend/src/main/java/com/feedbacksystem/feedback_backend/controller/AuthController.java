@@ -3,22 +3,30 @@ package com.feedbacksystem.feedback_backend.controller;
 import com.feedbacksystem.feedback_backend.dto.AuthResponse;
 import com.feedbacksystem.feedback_backend.dto.LoginRequest;
 import com.feedbacksystem.feedback_backend.dto.RegisterRequest;
+import com.feedbacksystem.feedback_backend.exception.PasswordHashingBusyException;
 import com.feedbacksystem.feedback_backend.model.Role;
 import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.repository.IndexManager;
 import com.feedbacksystem.feedback_backend.repository.UserRepository;
 import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.PasswordHashingService;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager; // Hum 'Manager' ko use kar rahe hain
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @RestController // Yeh batata hai ki yeh file ek API controller hai (jo JSON bhejega).
 @RequestMapping("/api/auth") // Iska matlab hai ki is file ke saare API URLs "/api/auth" se shuru honge.
@@ -30,7 +38,7 @@ public class AuthController {
     private AuthenticationManager authenticationManager;
 
     // @Autowired Spring se bolta hai ki "Mujhe UserRepository ka object do."
-    // Isse hum users ko database mein find/save karenge.
+    // Isse hum naye users ko database mein save karenge.
     @Autowired
     private UserRepository userRepository;
 
@@ -44,6 +52,15 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    // Password hashing (BCrypt) apne alag, limited threads pe chalta hai,
+    // taaki login storm mein baaki API slow na ho.
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    // Email ka unique index maujood hai ya nahi, yeh check karta hai
+    @Autowired
+    private IndexManager indexManager;
+
     /**
      * Yeh login endpoint hai.
      * URL: POST /api/auth/login
@@ -52,7 +69,12 @@ public class AuthController {
     // Yeh function login request ko handle karta hai.
     // @Valid -- validation rules check karta hai (DTO file se)
     // @RequestBody -- frontend se aaye JSON ko LoginRequest object mein badal deta hai.
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    // CompletableFuture -- request thread turant free ho jata hai; jawab hashing thread se aata hai.
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        return passwordHashingService.submit(() -> login(loginRequest));
+    }
+
+    private ResponseEntity<?> login(LoginRequest loginRequest) {
 
         // **YEH SABSE IMPORTANT LINE HAI (LOGIN LOGIC)**
         // Yeh 'AuthenticationManager' ko bolta hai ki "is email aur password ko check karo."
@@ -66,17 +88,14 @@ public class AuthController {
         );
 
         // Agar upar wali line successful hai (matlab login sahi hai), toh:
-        // Yeh line Spring Security ko batati hai ki yeh user ab "logged in" hai.
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        
+        // (SecurityContext set nahi karte -- API stateless hai, aur yeh thread pool ka thread hai)
         // Yeh line 'JwtTokenProvider' ka use karke naya JWT token banati hai.
         String jwt = tokenProvider.generateToken(authentication);
 
-        // Hum user ko database se firse find kar rahe hain...
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                // ...taaki hum response mein uska email aur naam bhej sakein.
-                .orElseThrow(() -> new RuntimeException("Error: User not found after authentication."));
-    
+        // User ki details principal mein pehle se hain (authenticate ne hi load kiya tha),
+        // isliye database se dobara find karne ki zaroorat nahi.
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+
         // Yeh line frontend ko token, role, email aur naam (JSON mein) '200 OK' response ke sath bhejti hai.
         return ResponseEntity.ok(new AuthResponse(
                 jwt,
@@ -92,13 +111,12 @@ public class AuthController {
      */
     @PostMapping("/register")
     // Yeh function naye user ko register karta hai.
-    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
-        
-        // Yeh check kar raha hai ki email pehle se use toh nahi hua hai.
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            // Agar email pehle se use hua hai, toh '400 Bad Request' error bhej do.
-            return ResponseEntity.badRequest().body("Error: Email is already taken!");
-        }
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
+        // Password hash karna bhi hashing threads pe hota hai
+        return passwordHashingService.submit(() -> register(registerRequest));
+    }
+
+    private ResponseEntity<?> register(RegisterRequest registerRequest) {
 
         // Yahan hum 'User.builder()' ka use karke ek naya User object bana rahe hain.
         User user = User.builder()
@@ -111,10 +129,40 @@ public class AuthController {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        // Naye user ko MongoDB database mein save kar rahe hain.
-        userRepository.save(user);
+        // Naye user ko MongoDB database mein insert kar rahe hain (sirf ek query).
+        // Email pe unique index hai, isliye "pehle check, phir save" ki zaroorat nahi:
+        // do requests ek saath same email bhejein toh bhi sirf ek hi insert hoga.
+        // Agar index abhi tak nahi bana (aur ban bhi nahi paya), toh pehle wala check hi karte hain.
+        if (!indexManager.ensureUniqueEmailIndex() && userRepository.findByEmail(user.getEmail()).isPresent()) {
+            return ResponseEntity.badRequest().body("Error: Email is already taken!");
+        }
+        try {
+            userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            // Agar email pehle se use hua hai, toh '400 Bad Request' error bhej do.
+            return ResponseEntity.badRequest().body("Error: Email is already taken!");
+        }
 
         // Frontend ko success message bhej rahe hain.
         return ResponseEntity.ok("User registered successfully!");
     }
-}
\ No newline at end of file
+
+    /**
+     * Galat email/password pe '403 Forbidden' (pehle jaisa hi).
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<?> handleAuthenticationFailure(AuthenticationException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: Invalid email or password.");
+    }
+
+    /**
+     * Jab saare hashing threads busy hon aur queue bhi full ho, toh '503 Service Unavailable'.
+     * (Retry-After header batata hai ki kitne seconds baad dobara try karein)
+     */
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> handleHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body("Error: Too many logins right now, please try again in a few seconds.");
+    }
+}
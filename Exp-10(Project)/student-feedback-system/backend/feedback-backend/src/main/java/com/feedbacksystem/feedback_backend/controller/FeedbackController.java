@@ -1,14 +1,18 @@
 package com.feedbacksystem.feedback_backend.controller;
 
-import com.feedbacksystem.feedback_backend.model.User; // User model ko import kar rahe hain
 import com.feedbacksystem.feedback_backend.dto.FeedbackRequestDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.exception.SubmissionQueueFullException;
+import com.feedbacksystem.feedback_backend.ingest.SubmissionIngestService;
 import com.feedbacksystem.feedback_backend.model.Feedback;
-import com.feedbacksystem.feedback_backend.repository.UserRepository;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
 import com.feedbacksystem.feedback_backend.service.FeedbackService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List; // List (array) use karne ke liye import
@@ -25,10 +29,8 @@ public class FeedbackController {
     @Autowired
     private FeedbackService feedbackService;
 
-    // @Autowired Spring se bolta hai ki "Mujhe UserRepository file ka ek object do."
-    // Isse hum user ko database mein find karenge.
     @Autowired
-    private UserRepository userRepository;
+    private SubmissionIngestService submissionIngestService;
 
     /**
      * POST endpoint for a student to submit new feedback.
@@ -39,20 +41,19 @@ public class FeedbackController {
     // Yeh function chalta hai jab student feedback submit karta hai.
     // @Valid -- validation rules check karta hai (DTO file se)
     // @RequestBody -- frontend se aaye JSON ko FeedbackRequestDTO object mein badal deta hai.
-    // Authentication -- Spring Security ismein logged-in user ki details (token se) daal deta hai.
-    public ResponseEntity<?> submitFeedback(@Valid @RequestBody FeedbackRequestDTO requestDTO, Authentication authentication) {
+    // @AuthenticationPrincipal -- JWT filter ne jo logged-in user (UserPrincipal) banaya tha, woh yahan mil jata hai.
+    public ResponseEntity<?> submitFeedback(@Valid @RequestBody FeedbackRequestDTO requestDTO,
+                                            @AuthenticationPrincipal UserPrincipal principal) {
 
-        // Yeh line 'authentication' object se student ka email nikaal rahi hai.
-        String email = authentication.getName();
+        // **STUDENT ID ab principal mein hi hai**, database se dobara find karne ki zaroorat nahi.
+        // Hum 'FeedbackService' ko bol rahe hain ki "is feedback (requestDTO) ko aur student ki ID ko database mein save kar do."
+        Feedback savedFeedback = feedbackService.submitFeedback(requestDTO, principal.getId());
 
-        // **YEH LINE STUDENT ID FIND KAREGI**
-        // Hum email ka use karke database se student ka poora User object nikaal rahe hain.
-        User user = userRepository.findByEmail(email)
-                // Agar user nahi mila, toh error throw karega.
-                .orElseThrow(() -> new RuntimeException("Error: User not found."));
-
-        // Hum 'FeedbackService' ko bol rahe hain ki "is feedback (requestDTO) ko aur student ki ID (user.getId()) ko database mein save kar do."
-        Feedback savedFeedback = feedbackService.submitFeedback(requestDTO, user.getId());
+        // Async ingest mode mein feedback abhi queue mein hai (baad mein save hoga), isliye '202 Accepted' bhejte hain.
+        // ID pehle se assign hai, toh frontend use turant dikha sakta hai.
+        if (submissionIngestService.isEnabled()) {
+            return ResponseEntity.accepted().body(savedFeedback);
+        }
 
         // Save kiya hua feedback (JSON mein) wapas frontend ko '200 OK' response ke sath bhej rahe hain.
         return ResponseEntity.ok(savedFeedback);
@@ -65,22 +66,40 @@ public class FeedbackController {
      */
     @GetMapping("/my-feedback")
     // Yeh function chalta hai jab student apna dashboard kholta hai.
-    public ResponseEntity<List<Feedback>> getMyFeedback(Authentication authentication) {
-        
-        // 1. Wapas, 'authentication' object se student ka email nikaal rahe hain.
-        String email = authentication.getName();
+    public ResponseEntity<List<FeedbackSummaryDTO>> getMyFeedback(@AuthenticationPrincipal UserPrincipal principal) {
 
-        // 2. Email ka use karke database se poora User object nikaal rahe hain.
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("Error: User not found."));
-        
-        // 3. User object se uski unique MongoDB ID nikaal rahe hain.
-        String studentId = user.getId();
+        // 1. Principal se student ki unique MongoDB ID nikaal rahe hain.
+        String studentId = principal.getId();
 
-        // 4. Hum 'FeedbackService' ko bol rahe hain ki "sirf is studentId ka saara feedback la do."
-        List<Feedback> feedbackList = feedbackService.getFeedbackByStudentId(studentId);
+        // 2. Hum 'FeedbackService' ko bol rahe hain ki "sirf is studentId ka saara feedback la do."
+        // (Sirf summary aati hai - thread nahi, bas uska size aur last activity time)
+        List<FeedbackSummaryDTO> feedbackList = feedbackService.getFeedbackByStudentId(studentId);
 
-        // 5. Poori feedback list (JSON array) ko '200 OK' response ke sath bhej rahe hain.
+        // 3. Poori feedback list (JSON array) ko '200 OK' response ke sath bhej rahe hain.
         return ResponseEntity.ok(feedbackList);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET endpoint for a student to open one of their own feedback items, with its full thread.
+     * (Yeh GET API endpoint hai ek feedback ka poora conversation dekhne ke liye)
+     * URL: GET /api/feedback/my-feedback/{id}
+     */
+    @GetMapping("/my-feedback/{id}")
+    public ResponseEntity<Feedback> getMyFeedbackById(@PathVariable String id,
+                                                      @AuthenticationPrincipal UserPrincipal principal) {
+        // Service check karti hai ki yeh feedback isi student ka hai.
+        Feedback feedback = feedbackService.getFeedbackByIdForStudent(id, principal.getId());
+        return ResponseEntity.ok(feedback);
+    }
+
+    /**
+     * Jab submission queue full ho, toh '429 Too Many Requests' bhejte hain.
+     * (Retry-After header batata hai ki kitne seconds baad dobara try karein)
+     */
+    @ExceptionHandler(SubmissionQueueFullException.class)
+    public ResponseEntity<?> handleQueueFull(SubmissionQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body("Error: Too many submissions right now, please try again in a few seconds.");
+    }
+}
@@ -0,0 +1,24 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The data of an "analytics-delta" admin dashboard event: how much each dashboard
+ * bucket changed, e.g. status {"open": -1, "in_progress": 1}.
+ * Applying it to the last DashboardAnalyticsDTO gives the current one.
+ */
+@Data
+public class AnalyticsDeltaDTO {
+
+    // Change of the feedback count per status
+    private Map<String, Long> status = new LinkedHashMap<>();
+
+    // Change of the feedback count per category
+    private Map<String, Long> category = new LinkedHashMap<>();
+
+    // Change of the rating sum per category
+    private Map<String, Long> ratingSum = new LinkedHashMap<>();
+}
@@ -0,0 +1,25 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for posting the same reply to many feedback items at once.
+ * The content may use the placeholders {category}, {rating} and {submittedOn},
+ * which are filled in from each feedback.
+ */
+@Data
+@NoArgsConstructor
+public class BulkReplyDTO {
+
+    private List<String> ids;
+
+    // Same fields as the search (q, status, category, minRating, maxRating, from, to); all optional
+    private FeedbackSearchCriteria filter;
+
+    @NotBlank(message = "Reply content cannot be empty")
+    private String content;
+}
@@ -0,0 +1,48 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a bulk status change or bulk reply, with one entry per feedback.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDTO {
+
+    public static final String UPDATED = "updated";
+    public static final String UNCHANGED = "unchanged"; // Already had the requested status
+    public static final String NOT_FOUND = "not_found"; // No such id (or it does not match the filter)
+    public static final String CONFLICT = "conflict";   // Changed or deleted by someone else in the meantime
+
+    private int updated;
+    private int unchanged;
+    private int notFound;
+    private int conflicts;
+
+    private List<ItemResult> items = new ArrayList<>();
+
+    public void add(ItemResult item) {
+        items.add(item);
+        switch (item.getResult()) {
+            case UPDATED -> updated++;
+            case UNCHANGED -> unchanged++;
+            case NOT_FOUND -> notFound++;
+            default -> conflicts++;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String id;
+        private String result;
+        private Long version; // The new version if updated, otherwise the version that was read (if known)
+    }
+}
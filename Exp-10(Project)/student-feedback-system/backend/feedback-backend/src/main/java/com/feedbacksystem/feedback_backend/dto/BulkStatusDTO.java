@@ -0,0 +1,24 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for changing the status of many feedback items at once.
+ * The items are given by id, by a filter, or by both (ids that also match the filter).
+ */
+@Data
+@NoArgsConstructor
+public class BulkStatusDTO {
+
+    private List<String> ids;
+
+    // Same fields as the search (q, status, category, minRating, maxRating, from, to); all optional
+    private FeedbackSearchCriteria filter;
+
+    @NotBlank(message = "Status cannot be empty")
+    private String status;
+}
@@ -0,0 +1,42 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the admin dashboard charts need, computed in one $facet aggregation
+ * (or read from the materialised counters).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardAnalyticsDTO {
+
+    // Feedback count per status, e.g. [{_id: "open", count: 5}]
+    private List<AnalyticsDTO> statusData;
+
+    // Feedback count per category
+    private List<AnalyticsDTO> categoryData;
+
+    // Rating count, sum and average per category
+    private List<RatingAnalyticsDTO> ratingData;
+
+    // Average rating over all feedback (0 if there is none)
+    private double averageRating;
+
+    /**
+     * Derives the overall average rating from the per-category rating sums.
+     */
+    public void fillAverageRating() {
+        long totalCount = 0;
+        long totalRating = 0;
+        for (RatingAnalyticsDTO category : ratingData) {
+            totalCount += category.getCount();
+            totalRating += category.getRatingSum();
+        }
+        averageRating = totalCount > 0 ? (double) totalRating / totalCount : 0;
+    }
+}
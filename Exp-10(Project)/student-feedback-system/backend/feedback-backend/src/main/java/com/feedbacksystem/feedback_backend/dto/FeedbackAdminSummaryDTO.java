@@ -0,0 +1,38 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import com.feedbacksystem.feedback_backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A DTO for one row of the admin feedback list.
+ * Same shape as FeedbackAdminViewDTO, but with the lightweight summary
+ * instead of the full Feedback document.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackAdminSummaryDTO {
+
+    private FeedbackSummaryDTO feedback;
+
+    // Student details ("Anonymous" if the feedback was submitted anonymously)
+    private String studentName;
+    private String studentEmail;
+
+    /**
+     * Builds the row for a feedback, respecting anonymity.
+     *
+     * @param student The student who submitted it, or null if they could not be found.
+     */
+    public static FeedbackAdminSummaryDTO of(FeedbackSummaryDTO feedback, User student) {
+        if (feedback.isAnonymous()) {
+            return new FeedbackAdminSummaryDTO(feedback, "Anonymous", "");
+        }
+        String name = (student != null) ? student.getName() : "Unknown User";
+        String email = (student != null) ? student.getEmail() : "";
+        return new FeedbackAdminSummaryDTO(feedback, name, email);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A feedback summary selected by a bulk operation, with what the bulk write
+ * needs to know: the version it was read at, how many comments are archived and
+ * when it was last resolved.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class FeedbackBulkTargetDTO extends FeedbackSummaryDTO {
+
+    private Long version;
+
+    private int archivedComments;
+
+    // resolutionLog.timestamp; kept when the feedback is reopened
+    private LocalDateTime resolvedAt;
+
+    /**
+     * Number of comments still stored inline in the feedback document.
+     */
+    public int getInlineComments() {
+        return getThreadSize() - archivedComments;
+    }
+}
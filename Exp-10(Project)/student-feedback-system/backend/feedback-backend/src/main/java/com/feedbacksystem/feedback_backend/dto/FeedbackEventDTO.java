@@ -0,0 +1,29 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The data of a "status-changed" or "reply-posted" admin dashboard event:
+ * which feedback changed, and its status and version afterwards.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackEventDTO {
+
+    private String id;
+
+    private String status;
+
+    // The status before the change (the same as status if a reply did not change it)
+    private String previousStatus;
+
+    private Long version;
+
+    // When the change happened
+    private LocalDateTime at;
+}
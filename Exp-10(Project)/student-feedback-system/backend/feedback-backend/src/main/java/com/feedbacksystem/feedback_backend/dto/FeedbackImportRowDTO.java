@@ -0,0 +1,31 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a bulk feedback import (a line of NDJSON or a CSV record).
+ * Validated with the same rules as a normal submission, plus the fields
+ * that historic data carries with it.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class FeedbackImportRowDTO extends FeedbackRequestDTO {
+
+    // Email of the student who submitted it; required unless the feedback is anonymous
+    @Email(message = "Student email is not valid")
+    private String studentEmail;
+
+    // Defaults to "open"
+    @Pattern(regexp = "open|in_progress|resolved", message = "Status must be open, in_progress or resolved")
+    private String status;
+
+    // When it was originally submitted; defaults to the time of the import
+    @PastOrPresent(message = "Submission time cannot be in the future")
+    private LocalDateTime createdAt;
+}
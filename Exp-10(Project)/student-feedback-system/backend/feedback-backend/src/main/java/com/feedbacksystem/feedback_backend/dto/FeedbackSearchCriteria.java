@@ -0,0 +1,36 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Query parameters of GET /api/admin/feedback/search.
+ * Everything except the search text is an optional filter.
+ */
+@Data
+@NoArgsConstructor
+public class FeedbackSearchCriteria {
+
+    private String q; // The words to search for (in the feedback and its comments)
+
+    private String status;
+
+    private String category;
+
+    private Integer minRating;
+
+    private Integer maxRating;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from; // Submitted on or after this day
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to; // Submitted on or before this day
+
+    private int page; // 0-based
+
+    private Integer limit;
+}
@@ -0,0 +1,17 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * A feedback summary found by a full-text search, with its relevance score.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class FeedbackSearchHitDTO extends FeedbackSummaryDTO {
+
+    // MongoDB text score: higher means more relevant
+    private double score;
+}
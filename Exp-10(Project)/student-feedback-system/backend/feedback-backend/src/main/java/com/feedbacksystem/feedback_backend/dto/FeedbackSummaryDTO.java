@@ -0,0 +1,43 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A lightweight view of a Feedback document for list pages.
+ * It leaves out the embedded thread and resolution log; instead the
+ * thread size and the time of the latest activity are computed by MongoDB.
+ * The full document is only loaded by the detail endpoints.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSummaryDTO {
+
+    private String id;
+
+    @JsonIgnore // Only used to look up the student's name, never sent to the client
+    private String studentId;
+
+    private boolean isAnonymous;
+
+    private String content;
+
+    private int rating;
+
+    private String category;
+
+    private String status;
+
+    private LocalDateTime createdAt;
+
+    // Number of comments in the thread (including archived ones)
+    private int threadSize;
+
+    // Timestamp of the newest comment, or createdAt if there are none
+    private LocalDateTime lastActivityAt;
+}
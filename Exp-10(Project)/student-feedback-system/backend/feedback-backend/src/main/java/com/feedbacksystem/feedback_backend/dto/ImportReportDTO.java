@@ -0,0 +1,34 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a bulk feedback import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+
+    private long received; // Rows read from the upload
+    private long imported; // Rows stored as feedback
+    private long failed;   // Rows rejected (see errors)
+    private long durationMs;
+    private double docsPerSecond;
+
+    // One entry per rejected row (capped at feedback.import.max-reported-errors)
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long row; // 1-based data row (NDJSON line, or CSV record after the header)
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rating statistics of one group of feedback (e.g. one category).
+ * The "_id" field is the value we grouped by, like in AnalyticsDTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingAnalyticsDTO {
+    private String _id;
+    private long count;
+    private long ratingSum;
+    private double averageRating;
+}
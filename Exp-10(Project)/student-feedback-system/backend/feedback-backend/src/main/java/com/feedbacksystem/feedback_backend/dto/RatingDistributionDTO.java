@@ -0,0 +1,20 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The rating distribution (1-5 stars) of one category.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingDistributionDTO {
+    private String category;
+    private long count;
+    private double averageRating;
+    private Map<Integer, Long> histogram; // stars -> count
+}
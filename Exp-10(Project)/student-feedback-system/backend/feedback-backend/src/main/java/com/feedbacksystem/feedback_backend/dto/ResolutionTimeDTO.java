@@ -0,0 +1,20 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Time-to-resolution statistics, in hours.
+ * Percentiles come from a log-scale histogram, so they are accurate to about 25%.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResolutionTimeDTO {
+    private long resolved;
+    private double meanHours;
+    private double p50Hours;
+    private double p90Hours;
+    private double p99Hours;
+}
@@ -0,0 +1,19 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of search results, most relevant first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDTO<T> {
+    private List<T> items;
+    private int page;
+    private boolean hasMore;
+}
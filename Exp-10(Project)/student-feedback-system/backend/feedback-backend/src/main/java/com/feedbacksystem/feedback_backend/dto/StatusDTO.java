@@ -13,4 +13,8 @@ public class StatusDTO {
 
     @NotBlank(message = "Status cannot be empty")
     private String status;
+
+    // Optional: the feedback version the admin last saw. If it is stale the
+    // request is rejected with 409 Conflict instead of overwriting the newer change.
+    private Long version;
 }
\ No newline at end of file
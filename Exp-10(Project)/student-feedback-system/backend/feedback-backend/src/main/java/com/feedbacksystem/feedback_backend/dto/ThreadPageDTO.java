@@ -0,0 +1,20 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import com.feedbacksystem.feedback_backend.model.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the archived (older) comments of a feedback thread, oldest comment first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ThreadPageDTO {
+    private int page;
+    private List<Comment> comments;
+    private Integer olderPage; // The page to ask for next, or null when this is the oldest one
+}
@@ -0,0 +1,17 @@
+package com.feedbacksystem.feedback_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One point of the submissions trend chart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendPointDTO {
+    private String period; // First day of the day/week, e.g. "2026-10-12"
+    private long submissions;
+    private double averageRating;
+}
@@ -0,0 +1,21 @@
+package com.feedbacksystem.feedback_backend.exception;
+
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import lombok.Getter;
+
+/**
+ * Thrown when an admin edits a feedback using a version that is no longer current,
+ * i.e. someone else changed it since the admin loaded it.
+ * Carries the current state so the client can show it and let the admin decide again.
+ */
+@Getter
+public class FeedbackConflictException extends RuntimeException {
+
+    private final Feedback current;
+
+    public FeedbackConflictException(Feedback current) {
+        super("Feedback " + current.getId() + " was changed by someone else (current version: "
+                + current.getVersion() + ")");
+        this.current = current;
+    }
+}
@@ -0,0 +1,18 @@
+package com.feedbacksystem.feedback_backend.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when every password hashing thread is busy and the queue in front of them is full,
+ * e.g. during a login storm. Clients should retry after the given number of seconds.
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public PasswordHashingBusyException(int retryAfterSeconds) {
+        super("Too many logins in progress");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
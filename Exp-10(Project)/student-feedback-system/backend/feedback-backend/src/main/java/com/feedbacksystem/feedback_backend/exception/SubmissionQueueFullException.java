@@ -0,0 +1,18 @@
+package com.feedbacksystem.feedback_backend.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the asynchronous submission queue is full and cannot accept more feedback.
+ * Clients should retry after the given number of seconds.
+ */
+@Getter
+public class SubmissionQueueFullException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public SubmissionQueueFullException(int retryAfterSeconds) {
+        super("Submission queue is full");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
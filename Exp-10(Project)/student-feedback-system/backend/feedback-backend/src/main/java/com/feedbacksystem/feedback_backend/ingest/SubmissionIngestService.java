@@ -0,0 +1,347 @@
+package com.feedbacksystem.feedback_backend.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feedbacksystem.feedback_backend.exception.SubmissionQueueFullException;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.service.AdminEventService;
+import com.feedbacksystem.feedback_backend.service.AnalyticsCounterService;
+import com.feedbacksystem.feedback_backend.service.AnalyticsRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind path for feedback submissions (feedback.ingest.async.enabled).
+ * <p>
+ * A submission gets its id up front, is appended to a local {@link SubmissionJournal}
+ * and put on a bounded in-memory queue; the request returns straight away. A single
+ * writer thread drains the queue and stores the documents with one unordered bulk
+ * insert per batch, then updates the analytics counters and rollups once per batch.
+ * When the queue is full, submissions are refused with a {@link SubmissionQueueFullException}
+ * instead of piling up. Journal entries left over from a crash are replayed at start-up;
+ * replaying a document that did reach MongoDB only hits its unique _id and is skipped.
+ */
+@Service
+public class SubmissionIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionIngestService.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final long MAX_RETRY_DELAY_MS = 5_000;
+    private static final int SHUTDOWN_FLUSH_ATTEMPTS = 3;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private AnalyticsCounterService analyticsCounterService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private AdminEventService adminEventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${feedback.ingest.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${feedback.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${feedback.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${feedback.ingest.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${feedback.ingest.journal-dir:./data/submission-journal}")
+    private String journalDir;
+
+    @Value("${feedback.ingest.journal-segment-entries:10000}")
+    private int journalSegmentEntries;
+
+    @Value("${feedback.ingest.journal-fsync:false}")
+    private boolean journalFsync;
+
+    @Value("${feedback.ingest.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    private BlockingQueue<QueuedSubmission> queue;
+    private SubmissionJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Guards "check capacity, journal, enqueue" so a journaled entry always finds room on the queue.
+    // A lock rather than synchronized, so virtual request threads are not pinned during the journal write.
+    private final ReentrantLock acceptLock = new ReentrantLock();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong totalFlushMs = new AtomicLong();
+    private final AtomicLong lastFlushMs = new AtomicLong();
+    private final AtomicLong maxFlushMs = new AtomicLong();
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        journal = new SubmissionJournal(Path.of(journalDir), journalSegmentEntries, journalFsync);
+        // Listed before anything new is appended, so only leftovers from the last run are replayed
+        List<Path> leftovers = journal.existingSegments();
+
+        running = true;
+        writer = new Thread(() -> run(leftovers), "submission-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("Asynchronous feedback ingest enabled (queue capacity {}, batch size {})", queueCapacity, batchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a new feedback document for writing in the background and returns it
+     * with its id already assigned.
+     *
+     * @throws SubmissionQueueFullException if the queue has no room left.
+     */
+    public Feedback enqueue(Feedback feedback) {
+        feedback.setId(new ObjectId().toHexString());
+        // Before journaling, so a replayed entry is stored at the same version as the returned feedback
+        feedback.setVersion(0L);
+        byte[] entry;
+        try {
+            entry = objectMapper.writeValueAsBytes(feedback);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialise feedback for the journal", ex);
+        }
+
+        acceptLock.lock();
+        try {
+            if (!running || queue.remainingCapacity() == 0) {
+                rejected.incrementAndGet();
+                throw new SubmissionQueueFullException(retryAfterSeconds);
+            }
+            SubmissionJournal.Segment segment = journal.append(entry);
+            queue.add(new QueuedSubmission(feedback, segment));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write to the submission journal", ex);
+        } finally {
+            acceptLock.unlock();
+        }
+        accepted.incrementAndGet();
+        return feedback;
+    }
+
+    /**
+     * A snapshot of the queue and flush counters.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("queueDepth", queue != null ? queue.size() : 0);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", accepted.get());
+        stats.put("rejected", rejected.get());
+        stats.put("flushed", flushed.get());
+        stats.put("batches", batches.get());
+        stats.put("flushFailures", flushFailures.get());
+        stats.put("lastFlushMs", lastFlushMs.get());
+        stats.put("avgFlushMs", batches.get() > 0 ? (double) totalFlushMs.get() / batches.get() : 0.0);
+        stats.put("maxFlushMs", maxFlushMs.get());
+        return stats;
+    }
+
+    /**
+     * Stops accepting submissions and gives the writer a few seconds to drain the queue.
+     * Whatever is still queued after that stays in the journal and is replayed next start.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        if (!enabled) {
+            return;
+        }
+        acceptLock.lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (queue.isEmpty()) {
+            journal.close();
+        }
+    }
+
+    private void run(List<Path> leftovers) {
+        for (Path segment : leftovers) {
+            replay(segment);
+        }
+
+        List<QueuedSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedSubmission first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                List<Feedback> documents = batch.stream().map(QueuedSubmission::feedback).toList();
+                if (!writeWithRetry(documents)) {
+                    return;
+                }
+                for (QueuedSubmission submission : batch) {
+                    journal.markFlushed(submission.segment());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException ex) {
+                logger.warn("Could not clean up the submission journal", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void replay(Path segment) {
+        try {
+            List<Feedback> documents = new ArrayList<>();
+            for (String entry : SubmissionJournal.readEntries(segment)) {
+                try {
+                    documents.add(objectMapper.readValue(entry, Feedback.class));
+                } catch (JsonProcessingException ex) {
+                    // Usually a line torn by a crash in the middle of the write
+                    logger.warn("Skipping unreadable entry in {}", segment.getFileName());
+                }
+            }
+            for (int from = 0; from < documents.size(); from += batchSize) {
+                if (!writeWithRetry(documents.subList(from, Math.min(from + batchSize, documents.size())))) {
+                    return;
+                }
+            }
+            Files.delete(segment);
+            logger.info("Replayed {} journaled submissions from {}", documents.size(), segment.getFileName());
+        } catch (IOException | InterruptedException ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("Could not replay {}; it is kept for the next start", segment.getFileName(), ex);
+        }
+    }
+
+    /**
+     * Writes a batch, retrying with backoff while MongoDB is unavailable. The batch is never
+     * dropped while the application is running; returns false only if the application is
+     * shutting down and the batch could not be written, in which case it stays journaled.
+     */
+    private boolean writeWithRetry(List<Feedback> documents) throws InterruptedException {
+        long delayMs = 100;
+        for (int attempt = 1; ; attempt++) {
+            long startedAt = System.nanoTime();
+            try {
+                write(documents);
+                recordFlush(documents.size(), (System.nanoTime() - startedAt) / 1_000_000);
+                return true;
+            } catch (RuntimeException ex) {
+                flushFailures.incrementAndGet();
+                if (!running && attempt >= SHUTDOWN_FLUSH_ATTEMPTS) {
+                    logger.error("Giving up on {} queued submissions at shutdown; they stay in the journal", documents.size(), ex);
+                    return false;
+                }
+                logger.warn("Could not write {} queued submissions (attempt {}), retrying in {} ms",
+                        documents.size(), attempt, delayMs, ex);
+                Thread.sleep(delayMs);
+                delayMs = Math.min(delayMs * 2, MAX_RETRY_DELAY_MS);
+            }
+        }
+    }
+
+    private void write(List<Feedback> documents) {
+        Set<Integer> notInserted = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Feedback.class)
+                    .insert(documents)
+                    .execute();
+        } catch (BulkOperationException ex) {
+            ex.getErrors().forEach(error -> {
+                notInserted.add(error.getIndex());
+                // A duplicate _id means the document was already stored before a restart
+                if (error.getCode() != DUPLICATE_KEY) {
+                    logger.error("Dropping queued feedback {}: {}", documents.get(error.getIndex()).getId(), error.getMessage());
+                }
+            });
+        }
+
+        Map<String, Long> counterDeltas = new LinkedHashMap<>();
+        Map<String, AnalyticsRollupService.RollupDelta> rollupDeltas = new HashMap<>();
+        List<Feedback> inserted = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            if (notInserted.contains(i)) {
+                continue;
+            }
+            Feedback feedback = documents.get(i);
+            inserted.add(feedback);
+            AnalyticsCounterService.addSubmittedDeltas(counterDeltas,
+                    feedback.getStatus(), feedback.getCategory(), feedback.getRating());
+            AnalyticsRollupService.addSubmitted(rollupDeltas,
+                    feedback.getCreatedAt(), feedback.getCategory(), feedback.getRating());
+        }
+        try {
+            analyticsCounterService.applyDeltas(counterDeltas);
+            analyticsRollupService.applyDeltas(rollupDeltas);
+        } catch (RuntimeException ex) {
+            // The documents are stored; retrying the batch would only skip them as duplicates
+            logger.warn("Could not update analytics for {} ingested submissions", documents.size(), ex);
+        }
+        adminEventService.feedbackCreated(inserted);
+    }
+
+    private void recordFlush(int size, long elapsedMs) {
+        flushed.addAndGet(size);
+        batches.incrementAndGet();
+        totalFlushMs.addAndGet(elapsedMs);
+        lastFlushMs.set(elapsedMs);
+        maxFlushMs.accumulateAndGet(elapsedMs, Math::max);
+    }
+
+    private record QueuedSubmission(Feedback feedback, SubmissionJournal.Segment segment) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.feedbacksystem.feedback_backend.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * An append-only journal of queued submissions, one JSON document per line.
+ * <p>
+ * The journal is split into numbered segment files. A segment is closed ("sealed")
+ * after a fixed number of entries and deleted as soon as all of its entries have
+ * been written to MongoDB, so the journal only ever holds what is still in flight.
+ * Segments left behind by a crash are replayed at the next start.
+ * <p>
+ * Guarded by a ReentrantLock rather than synchronized: appends do file I/O and may run on
+ * virtual threads, which a synchronized block would pin to their carrier thread.
+ */
+class SubmissionJournal implements Closeable {
+
+    private static final String PREFIX = "submissions-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int entriesPerSegment;
+    private final boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Segment active;
+    private long nextSegmentId;
+
+    SubmissionJournal(Path directory, int entriesPerSegment, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.entriesPerSegment = entriesPerSegment;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.nextSegmentId = existingSegments().stream().mapToLong(SubmissionJournal::segmentId).max().orElse(0) + 1;
+    }
+
+    /**
+     * The segment files currently on disk, oldest first.
+     */
+    List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .sorted(Comparator.comparingLong(SubmissionJournal::segmentId))
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads the entries of a segment file. A torn last line (from a crash in the
+     * middle of a write) is returned like any other line; the caller skips what it cannot parse.
+     */
+    static List<String> readEntries(Path segment) throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                entries.add(line);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Appends one entry and returns the segment it went into. The caller reports the
+     * entry as flushed with {@link #markFlushed} once it is stored in MongoDB.
+     * With fsync enabled the entry is on disk when this returns; otherwise it is in the
+     * OS page cache, which survives a crash of the application but not of the machine.
+     */
+    Segment append(byte[] entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length + 1).put(entry).put((byte) '\n').flip();
+        lock.lock();
+        try {
+            if (active == null || active.written >= entriesPerSegment) {
+                roll();
+            }
+            while (buffer.hasRemaining()) {
+                active.channel.write(buffer);
+            }
+            if (fsync) {
+                active.channel.force(false);
+            }
+            active.written++;
+            active.pending.incrementAndGet();
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void markFlushed(Segment segment) throws IOException {
+        lock.lock();
+        try {
+            if (segment.pending.decrementAndGet() == 0 && segment.sealed) {
+                Files.deleteIfExists(segment.path);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of segment files in use (the active one included).
+     */
+    int segmentCount() throws IOException {
+        lock.lock();
+        try {
+            return existingSegments().size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            seal(active);
+        }
+        Path path = directory.resolve(PREFIX + nextSegmentId++ + SUFFIX);
+        active = new Segment(path, FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    private void seal(Segment segment) throws IOException {
+        segment.channel.close();
+        segment.sealed = true;
+        if (segment.pending.get() == 0) {
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (active != null) {
+                seal(active);
+                active = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * One journal file and the number of its entries not yet stored in MongoDB.
+     */
+    static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final AtomicInteger pending = new AtomicInteger();
+        private int written;
+        private boolean sealed;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.feedbacksystem.feedback_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far one instance's change feed has got, in the 'change_feed_offsets' collection.
+ * There is one document per instance (feedback.changes.consumer-id), so after a restart
+ * the feed continues right after the last change all of its listeners had handled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_feed_offsets")
+public class ChangeFeedOffset {
+
+    @Id
+    private String id; // The consumer id
+
+    private String mode; // "change-stream" or "polling"; a position is only valid for its own mode
+
+    // A change stream resume token (as JSON) or a polling timestamp; null means "start from now"
+    private String position;
+
+    private LocalDateTime updatedAt;
+}
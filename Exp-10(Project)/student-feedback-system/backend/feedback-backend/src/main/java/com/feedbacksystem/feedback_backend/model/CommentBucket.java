@@ -0,0 +1,36 @@
+package com.feedbacksystem.feedback_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * A fixed-size page of older comments in the 'comment_buckets' collection.
+ * When thread bucketing is enabled, a Feedback keeps only its newest comments inline;
+ * older ones are moved here, one full page at a time, oldest page first (page 0).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "comment_buckets")
+@CompoundIndex(name = "feedbackId_page", def = "{'feedbackId': 1, 'page': 1}", unique = true)
+public class CommentBucket {
+
+    @Id
+    private String id; // "<feedbackId>:<page>"
+
+    private String feedbackId;
+
+    private int page;
+
+    private List<Comment> comments;
+
+    public static String idOf(String feedbackId, int page) {
+        return feedbackId + ":" + page;
+    }
+}
@@ -5,6 +5,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -19,6 +23,15 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Document(collection = "feedback") // This will be saved in the "feedback" collection
+// One index per list query: the filter fields first, then the (createdAt, _id) sort,
+// so MongoDB can walk the index in order and stop at the page limit.
+// They are created at startup by IndexManager, together with the text index used by search.
+@CompoundIndexes({
+        @CompoundIndex(name = "studentId_createdAt", def = "{'studentId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdAt", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "category_status_createdAt", def = "{'category': 1, 'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdAt", def = "{'createdAt': -1, '_id': -1}")
+})
 public class Feedback {
 
     @Id
@@ -38,12 +51,25 @@ public class Feedback {
 
     private LocalDateTime createdAt;
 
+    // Set by the server on every status change and reply; the polling change feed looks for it
+    @Indexed(sparse = true)
+    private LocalDateTime modifiedAt;
+
+    // Incremented by every update; admins send it back to detect concurrent edits.
+    // Documents saved before versioning have none until their first update.
+    @Version
+    private Long version;
+
     // --- EMBEDDED OBJECTS ---
 
     // This is the embedded array of comments (the thread)
     // It's a List of the Comment POJO we just created.
     private List<Comment> thread;
 
+    // Number of older comments moved out of 'thread' into the comment_buckets collection
+    // (always 0 unless feedback.thread.bucketing.enabled is set)
+    private int archivedComments;
+
     // This is the embedded resolution log
     // It's the ResolutionLog POJO we just created.
     private ResolutionLog resolutionLog;
@@ -0,0 +1,41 @@
+package com.feedbacksystem.feedback_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A materialised analytics counter in the 'feedback_counters' collection.
+ * There is one document per bucket, e.g. { _id: "status:open", dimension: "status", key: "open", count: 12 }.
+ * Counters are updated with $inc whenever feedback is created or changes status,
+ * so the dashboard never has to aggregate the whole feedback collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "feedback_counters")
+public class FeedbackCounter {
+
+    public static final String STATUS = "status";
+    public static final String CATEGORY = "category";
+    // Sum of all ratings per category (its "count" is the sum), used for the average rating
+    public static final String RATING_SUM = "ratingSum";
+
+    // Marker document written by every full rebuild of the counters
+    public static final String REBUILT_MARKER_ID = "meta:rebuilt";
+
+    @Id
+    private String id; // "<dimension>:<key>"
+
+    private String dimension; // "status", "category" or "ratingSum"
+
+    private String key; // e.g. "open" or "Facilities"
+
+    private long count;
+
+    public static String idOf(String dimension, String key) {
+        return dimension + ":" + key;
+    }
+}
@@ -0,0 +1,45 @@
+package com.feedbacksystem.feedback_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+/**
+ * A pre-aggregated analytics bucket in the 'feedback_rollups' collection:
+ * everything that happened to the feedback of one category on one day.
+ * Trend charts read these buckets (at most one per day and category)
+ * instead of rescanning the feedback collection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "feedback_rollups")
+@CompoundIndex(name = "day_category", def = "{'day': 1, 'category': 1}") // Trend queries are day ranges
+public class FeedbackRollup {
+
+    @Id
+    private String id; // "<day>|<category>"
+
+    private String day; // ISO date, e.g. "2026-10-17" (sorts and range-queries as a string)
+
+    private String category;
+
+    // --- Submissions created on this day ---
+    private long submissions;
+    private long ratingSum;
+    private Map<String, Long> ratingHistogram; // "1".."5" -> count
+
+    // --- Feedback resolved on this day ---
+    private long resolved;
+    private long resolutionMinutesSum;
+    private Map<String, Long> resolutionHistogram; // log-scale bucket index -> count
+
+    public static String idOf(String day, String category) {
+        return day + "|" + category;
+    }
+}
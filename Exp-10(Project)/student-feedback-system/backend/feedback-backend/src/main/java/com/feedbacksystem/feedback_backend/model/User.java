@@ -33,5 +33,13 @@ public class User {
 
     private Role role; // Uses the Role enum we just created
 
+    @Indexed // The polling change feed looks for new users by createdAt
     private LocalDateTime createdAt;
+
+    // Set by the server whenever the user is changed after registration
+    @Indexed(sparse = true)
+    private LocalDateTime modifiedAt;
+
+    // Bumped to revoke all JWTs issued before (see SessionRevocationService)
+    private int tokenVersion;
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.feedbacksystem.feedback_backend.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps every key's TAT in a ConcurrentHashMap of AtomicLongs. Taking a request is one
+ * lock-free compare-and-set on that key's AtomicLong, so requests for different clients
+ * never contend and requests for the same client only retry the CAS.
+ * <p>
+ * Idle eviction may race with a request that already holds the removed AtomicLong; that
+ * request's use is then forgotten, which at worst lets the client one request further.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public InMemoryRateLimitStore() {
+        this(System::nanoTime);
+    }
+
+    // For tests
+    InMemoryRateLimitStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryAcquire(String key, long emissionIntervalNanos, long burstToleranceNanos) {
+        long now = clock.getAsLong();
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = tat.get();
+            // A TAT in the past means the bucket is full (nanoTime values are compared by difference)
+            long start = current - now > 0 ? current : now;
+            long ahead = start - now;
+            if (ahead > burstToleranceNanos) {
+                return ahead - burstToleranceNanos;
+            }
+            if (tat.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public long peek(String key, long emissionIntervalNanos, long burstToleranceNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            return 0;
+        }
+        long ahead = tat.get() - clock.getAsLong();
+        return ahead > burstToleranceNanos ? ahead - burstToleranceNanos : 0;
+    }
+
+    @Override
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(tat -> tat.get() - now <= 0);
+    }
+
+    @Override
+    public long size() {
+        return buckets.size();
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+}
@@ -0,0 +1,102 @@
+package com.feedbacksystem.feedback_backend.ratelimit;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shares the rate limits between instances through the rate_limits collection: one
+ * document per key holding its TAT. Every request is a single upserting findOneAndUpdate
+ * whose update pipeline applies the GCRA step on the server, timed by the server's own
+ * clock ($$NOW), so instances with skewed clocks still agree.
+ * <p>
+ * A TTL index on the TAT removes a document once its bucket has refilled. Intervals are
+ * rounded to milliseconds. If MongoDB cannot be reached, requests are let through
+ * rather than failing the whole API.
+ */
+public class MongoRateLimitStore implements RateLimitStore {
+
+    public static final String COLLECTION = "rate_limits";
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoRateLimitStore.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    public MongoRateLimitStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        try {
+            mongoTemplate.indexOps(COLLECTION).createIndex(
+                    new Index().on("tat", Sort.Direction.ASC).expire(Duration.ZERO));
+        } catch (DataAccessException ex) {
+            logger.warn("Could not create the TTL index on {}: {}", COLLECTION, ex.getMessage());
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, long emissionIntervalNanos, long burstToleranceNanos) {
+        long intervalMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(emissionIntervalNanos));
+        long toleranceMs = TimeUnit.NANOSECONDS.toMillis(burstToleranceNanos);
+        List<Document> pipeline = List.of(
+                // The bucket is full again once its TAT has passed
+                new Document("$set", new Document("base",
+                        new Document("$max", List.of(new Document("$ifNull", List.of("$tat", "$$NOW")), "$$NOW")))),
+                // How far past the burst this request would run (<= 0 means allowed)
+                new Document("$set", new Document("wait", new Document("$subtract", List.of(
+                        new Document("$subtract", List.of("$base", "$$NOW")), toleranceMs)))),
+                new Document("$set", new Document("tat", new Document("$cond", List.of(
+                        new Document("$lte", List.of("$wait", 0)),
+                        new Document("$add", List.of("$base", intervalMs)),
+                        "$base")))),
+                new Document("$unset", "base"));
+        try {
+            Document bucket = mongoTemplate.execute(COLLECTION, collection -> collection.findOneAndUpdate(
+                    new Document("_id", key), pipeline,
+                    new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER)));
+            if (failing.compareAndSet(true, false)) {
+                logger.info("Shared rate limits are reachable again");
+            }
+            long waitMs = bucket != null ? ((Number) bucket.get("wait")).longValue() : 0;
+            return waitMs > 0 ? TimeUnit.MILLISECONDS.toNanos(waitMs) : 0;
+        } catch (DataAccessException ex) {
+            if (failing.compareAndSet(false, true)) {
+                logger.warn("Shared rate limits unavailable, letting requests through: {}", ex.getMessage());
+            }
+            return 0;
+        }
+    }
+
+    @Override
+    public long peek(String key, long emissionIntervalNanos, long burstToleranceNanos) {
+        long toleranceMs = TimeUnit.NANOSECONDS.toMillis(burstToleranceNanos);
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("_id", key)),
+                new Document("$project", new Document("wait", new Document("$subtract", List.of(
+                        new Document("$subtract", List.of(new Document("$max", List.of("$tat", "$$NOW")), "$$NOW")),
+                        toleranceMs)))));
+        try {
+            Document bucket = mongoTemplate.execute(COLLECTION, collection -> collection.aggregate(pipeline).first());
+            long waitMs = bucket != null ? ((Number) bucket.get("wait")).longValue() : 0;
+            return waitMs > 0 ? TimeUnit.MILLISECONDS.toNanos(waitMs) : 0;
+        } catch (DataAccessException ex) {
+            // Same as tryAcquire: an unreachable store lets requests through
+            return 0;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "mongo";
+    }
+}
@@ -0,0 +1,181 @@
+package com.feedbacksystem.feedback_backend.ratelimit;
+
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles the routes listed in {@code feedback.rate-limit.rules} (login, registration and
+ * feedback submission by default), per client IP or per logged-in user, and answers
+ * 429 Too Many Requests with a Retry-After header once a limit is used up.
+ * <p>
+ * It runs right after JwtAuthenticationFilter, so user limits can key on the
+ * authenticated user; a user rule does not apply to anonymous requests. A request has to
+ * pass every rule matching it, and only a request that passes them all counts against them.
+ * The state lives in a {@link RateLimitStore}: in memory (each instance limits on its own)
+ * or in MongoDB (all instances share one limit).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String STORE_MEMORY = "memory";
+    public static final String STORE_MONGO = "mongo";
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${feedback.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feedback.rate-limit.rules:}")
+    private List<String> ruleSpecs;
+
+    @Value("${feedback.rate-limit.store:memory}")
+    private String storeName;
+
+    // Only behind our own reverse proxy: the client address is then the last X-Forwarded-For entry
+    @Value("${feedback.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RateLimitRule> rules = new ArrayList<>();
+    private RateLimitStore store;
+
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    void start() {
+        for (String spec : ruleSpecs) {
+            if (StringUtils.hasText(spec)) {
+                rules.add(RateLimitRule.parse(spec));
+            }
+        }
+        store = STORE_MONGO.equals(storeName) ? new MongoRateLimitStore(mongoTemplate) : new InMemoryRateLimitStore();
+        if (enabled) {
+            logger.info("Rate limiting {} route rule(s) in the {} store: {}", rules.size(), store.name(), rules);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<RateLimitRule> matched = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        for (RateLimitRule rule : rules) {
+            if (!rule.method().equals(request.getMethod()) || !pathMatcher.match(rule.pattern(), path)) {
+                continue;
+            }
+            String client = RateLimitRule.SCOPE_USER.equals(rule.scope()) ? currentUserId() : clientAddress(request);
+            if (client != null) {
+                matched.add(rule);
+                keys.add(rule + "|" + client);
+            }
+        }
+
+        // Check every rule before taking from any, so a request refused by one rule
+        // (e.g. the IP limit) does not use up the allowance of the others (the user's own)
+        long waitNanos = 0;
+        if (matched.size() > 1) {
+            for (int i = 0; i < matched.size(); i++) {
+                RateLimitRule rule = matched.get(i);
+                waitNanos = Math.max(waitNanos,
+                        store.peek(keys.get(i), rule.emissionIntervalNanos(), rule.burstToleranceNanos()));
+            }
+        }
+        // Take from each rule. Only a concurrent request using up the last allowance in between
+        // can refuse here; the rules taken before that one then stay taken
+        for (int i = 0; i < matched.size() && waitNanos == 0; i++) {
+            RateLimitRule rule = matched.get(i);
+            waitNanos = store.tryAcquire(keys.get(i), rule.emissionIntervalNanos(), rule.burstToleranceNanos());
+        }
+
+        if (waitNanos > 0) {
+            rejected.incrementAndGet();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Error: Too many requests. Please try again later.");
+            return;
+        }
+        if (!matched.isEmpty()) {
+            allowed.incrementAndGet();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops the buckets that have refilled, so clients seen once do not stay in memory.
+     */
+    @Scheduled(fixedDelayString = "${feedback.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        if (enabled) {
+            store.evictIdle();
+        }
+    }
+
+    /**
+     * Store, rule count, tracked keys and allowed/rejected counts of the limited requests.
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "enabled", enabled,
+                "store", store.name(),
+                "rules", rules.size(),
+                "keys", store.size(),
+                "allowed", allowed.get(),
+                "rejected", rejected.get());
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private String clientAddress(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustForwardedFor && StringUtils.hasText(forwardedFor)) {
+            // Earlier entries are whatever the client sent; the last one was added by our proxy
+            String[] hops = forwardedFor.split(",");
+            return hops[hops.length - 1].trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,67 @@
+package com.feedbacksystem.feedback_backend.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * One configured limit: at most {@code requests} per {@code period} for one route, counted
+ * separately for every client IP or for every logged-in user.
+ * <p>
+ * Written in configuration as {@code <METHOD> <path pattern> <ip|user> <requests>/<period>},
+ * for example {@code POST /api/auth/login ip 30/1m}. The period is a number with the unit
+ * s, m or h. The full allowance may be used as a burst, after which requests are let
+ * through evenly, one every {@code period / requests}.
+ */
+public record RateLimitRule(String method, String pattern, String scope, int requests, Duration period) {
+
+    public static final String SCOPE_IP = "ip";
+    public static final String SCOPE_USER = "user";
+
+    public RateLimitRule {
+        if (!SCOPE_IP.equals(scope) && !SCOPE_USER.equals(scope)) {
+            throw new IllegalArgumentException("Rate limit scope must be ip or user, not " + scope);
+        }
+        if (requests <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit must allow at least one request in a positive period");
+        }
+    }
+
+    public static RateLimitRule parse(String spec) {
+        String[] parts = spec.trim().split("\\s+");
+        String[] allowance = parts.length == 4 ? parts[3].split("/") : new String[0];
+        if (allowance.length != 2) {
+            throw new IllegalArgumentException(
+                    "Rate limit must look like '<METHOD> <path> <ip|user> <requests>/<period>': " + spec);
+        }
+        return new RateLimitRule(parts[0].toUpperCase(), parts[1], parts[2].toLowerCase(),
+                Integer.parseInt(allowance[0]), parsePeriod(allowance[1]));
+    }
+
+    private static Duration parsePeriod(String period) {
+        long amount = Long.parseLong(period.substring(0, period.length() - 1));
+        return switch (period.charAt(period.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Rate limit period must end in s, m or h: " + period);
+        };
+    }
+
+    /**
+     * Time between two requests once the burst is used up.
+     */
+    public long emissionIntervalNanos() {
+        return period.toNanos() / requests;
+    }
+
+    /**
+     * How far ahead of the clock a client may run, i.e. the burst minus one request.
+     */
+    public long burstToleranceNanos() {
+        return period.toNanos() - emissionIntervalNanos();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + pattern + " " + scope + " " + requests + "/" + period;
+    }
+}
@@ -0,0 +1,43 @@
+package com.feedbacksystem.feedback_backend.ratelimit;
+
+/**
+ * Where the rate limit state lives. The in-memory store limits each instance on its own;
+ * a shared store lets several instances enforce one limit together.
+ * <p>
+ * Stores implement the generic cell rate algorithm (GCRA), the token bucket reduced to a
+ * single number per key: the "theoretical arrival time" (TAT) at which the bucket would
+ * be full again. A request is allowed while {@code TAT - now <= burstTolerance}, and each
+ * allowed request moves the TAT one emission interval further ahead. A key whose TAT has
+ * passed is a full bucket and can be forgotten.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one request from the key's allowance.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it would be.
+     */
+    long tryAcquire(String key, long emissionIntervalNanos, long burstToleranceNanos);
+
+    /**
+     * Like tryAcquire, but only looks: the allowance is left as it is.
+     *
+     * @return 0 if a request would be allowed now, otherwise the nanoseconds until it would be.
+     */
+    long peek(String key, long emissionIntervalNanos, long burstToleranceNanos);
+
+    /**
+     * Forgets the keys whose buckets have refilled. Called periodically.
+     */
+    default void evictIdle() {
+    }
+
+    /**
+     * Keys currently tracked, or -1 if the store cannot tell cheaply.
+     */
+    default long size() {
+        return -1;
+    }
+
+    String name();
+}
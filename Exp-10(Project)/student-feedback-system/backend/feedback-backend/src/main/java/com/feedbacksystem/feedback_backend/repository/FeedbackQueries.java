@@ -0,0 +1,193 @@
+package com.feedbacksystem.feedback_backend.repository;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.aggregation.SystemVariable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The filters, projections and updates behind the Feedback queries, kept in one place so
+ * the MongoTemplate repository and the reactive variant build exactly the same commands.
+ */
+public final class FeedbackQueries {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private FeedbackQueries() {
+    }
+
+    /**
+     * Projects a Feedback document onto FeedbackSummaryDTO. The thread array is
+     * reduced to its size (plus any archived comments) and newest timestamp on the server, so it is never sent over the wire.
+     */
+    public static ProjectionOperation summaryProjection(String... extraFields) {
+        List<String> fields = new ArrayList<>(List.of(
+                "studentId", "isAnonymous", "content", "rating", "category", "status", "createdAt"));
+        fields.addAll(List.of(extraFields));
+
+        ProjectionOperation projection = Aggregation.project(fields.toArray(String[]::new))
+                .and(ArithmeticOperators.valueOf(ArrayOperators.Size.lengthOfArray(
+                                ConditionalOperators.ifNull("thread").then(Collections.emptyList())))
+                        .add(ConditionalOperators.ifNull("archivedComments").then(0)))
+                .as("threadSize")
+                .and(ConditionalOperators.ifNull(AccumulatorOperators.Max.maxOf("thread.timestamp"))
+                        .thenValueOf("createdAt"))
+                .as("lastActivityAt");
+        return projection;
+    }
+
+    /**
+     * Builds the optional filters of a search. The date range covers whole days.
+     */
+    public static Criteria searchFilters(FeedbackSearchCriteria criteria) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (StringUtils.hasText(criteria.getStatus())) {
+            conditions.add(Criteria.where("status").is(criteria.getStatus()));
+        }
+        if (StringUtils.hasText(criteria.getCategory())) {
+            conditions.add(Criteria.where("category").is(criteria.getCategory()));
+        }
+        if (criteria.getMinRating() != null) {
+            conditions.add(Criteria.where("rating").gte(criteria.getMinRating()));
+        }
+        if (criteria.getMaxRating() != null) {
+            conditions.add(Criteria.where("rating").lte(criteria.getMaxRating()));
+        }
+        if (criteria.getFrom() != null) {
+            conditions.add(Criteria.where("createdAt").gte(criteria.getFrom().atStartOfDay()));
+        }
+        if (criteria.getTo() != null) {
+            conditions.add(Criteria.where("createdAt").lt(criteria.getTo().plusDays(1).atStartOfDay()));
+        }
+        return conditions.isEmpty() ? new Criteria() : new Criteria().andOperator(conditions);
+    }
+
+    /**
+     * Builds the filter for a page: the optional status/category filters plus the
+     * keyset condition (createdAt, id) < (afterCreatedAt, afterId).
+     */
+    public static Criteria pageCriteria(String status, String category,
+                                        LocalDateTime afterCreatedAt, String afterId) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (status != null) {
+            conditions.add(Criteria.where("status").is(status));
+        }
+        if (category != null) {
+            conditions.add(Criteria.where("category").is(category));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            conditions.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("id").lt(afterId)
+            ));
+        }
+        return conditions.isEmpty() ? new Criteria() : new Criteria().andOperator(conditions);
+    }
+
+    /**
+     * Matches the feedback by id and, when an expected version is given, by version too.
+     */
+    public static Query versionedQuery(String feedbackId, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(feedbackId);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return Query.query(criteria);
+    }
+
+    /**
+     * Matches the feedback by id while it still has the status it was read with, and the
+     * expected version if one is given. An update through it knows exactly which status it replaced.
+     */
+    public static Query statusQuery(String feedbackId, String expectedStatus, Long expectedVersion) {
+        return versionedQuery(feedbackId, expectedVersion).addCriteria(Criteria.where("status").is(expectedStatus));
+    }
+
+    /**
+     * The update that sets a new status (and, when given, the resolution log), bumps the version
+     * and stamps modifiedAt with the server's clock.
+     */
+    public static Update statusUpdate(String newStatus, ResolutionLog resolutionLog) {
+        Update update = new Update().set("status", newStatus).inc("version", 1).currentDate("modifiedAt");
+        if (resolutionLog != null) {
+            update.set("resolutionLog", resolutionLog);
+        }
+        return update;
+    }
+
+    /**
+     * The update that appends a comment, moves "open" feedback to "in_progress" and stamps modifiedAt.
+     *
+     * @param commentDocument The comment, already converted to its stored form by the template's converter.
+     */
+    public static AggregationUpdate replyUpdate(Object commentDocument) {
+        // The comment goes in as a $literal, so content such as "$5 fee" is never read as a field path
+        // An update pipeline lets the status flip depend on the current status in the same write
+        return AggregationUpdate.update()
+                .set("thread").toValue(ArrayOperators.ConcatArrays
+                        .arrayOf(ConditionalOperators.ifNull("thread").then(Collections.emptyList()))
+                        .concat(LiteralOperators.valueOf(List.of(commentDocument)).asLiteral()))
+                .set("status").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("status").equalToValue("open"))
+                        .then("in_progress")
+                        .otherwiseValueOf("status"))
+                .set("version").toValue(ArithmeticOperators
+                        .valueOf(ConditionalOperators.ifNull("version").then(0L))
+                        .add(1))
+                .set("modifiedAt").toValue(SystemVariable.NOW);
+    }
+
+    /**
+     * Page cursors are an opaque, URL-safe encoding of "createdAt|id".
+     */
+    public static String encodeCursor(LocalDateTime createdAt, String id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The position a page cursor points at.
+     */
+    public record Cursor(LocalDateTime createdAt, String id) {
+    }
+
+    /**
+     * Decodes a page cursor into its createdAt and id parts.
+     *
+     * @throws IllegalArgumentException ("Invalid cursor") if the cursor was not produced by encodeCursor,
+     *                                  e.g. a tampered or truncated one.
+     */
+    public static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(parts[0]), parts[1]);
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
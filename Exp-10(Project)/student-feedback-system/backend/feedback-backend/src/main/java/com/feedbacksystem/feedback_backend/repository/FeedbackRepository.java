@@ -1,45 +1,38 @@
 package com.feedbacksystem.feedback_backend.repository;
 
-import com.feedbacksystem.feedback_backend.dto.AnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
 import com.feedbacksystem.feedback_backend.model.Feedback;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 /**
  * Repository interface for Feedback documents.
+ * Queries that need MongoTemplate live in FeedbackRepositoryCustom.
  */
 @Repository
-public interface FeedbackRepository extends MongoRepository<Feedback, String> {
-
-    /**
-     * Finds all feedback submissions for a specific student ID.
-     * This will power the Student Dashboard in Module 3.
-     */
-    List<Feedback> findByStudentId(String studentId);
+public interface FeedbackRepository extends MongoRepository<Feedback, String>, FeedbackRepositoryCustom {
 
     // --- NEW METHODS FOR MODULE 4 ---
 
     /**
-     * Aggregates feedback to get counts for each status.
-     * This uses the MongoDB Aggregation Pipeline, as planned.
+     * Computes all dashboard breakdowns in a single pass over the collection,
+     * using one $facet stage instead of a separate aggregation per chart.
+     * The average rating over all feedback is not part of the result; it is
+     * derived from the per-category rating sums.
      *
-     * @return A list of AnalyticsDTO objects (e.g., [{_id: "open", count: 5}, {_id: "resolved", count: 2}])
+     * @return statusData and categoryData (e.g. [{_id: "open", count: 5}]) and
+     *         ratingData (count, rating sum and average per category).
      */
-    @Aggregation(pipeline = {
-        "{ $group: { _id: '$status', count: { $sum: 1 } } }",
-        "{ $sort: { _id: 1 } }"
-    })
-    List<AnalyticsDTO> countByStatus();
+    @Aggregation(pipeline = DASHBOARD_FACET)
+    DashboardAnalyticsDTO aggregateDashboard();
 
-    /**
-     * Aggregates feedback to get counts for each category.
-     */
-    @Aggregation(pipeline = {
-        "{ $group: { _id: '$category', count: { $sum: 1 } } }",
-        "{ $sort: { _id: 1 } }"
-    })
-    List<AnalyticsDTO> countByCategory();
+    // Shared with the reactive repository, so both compute the dashboard the same way
+    String DASHBOARD_FACET =
+        "{ $facet: { " +
+            "statusData: [ { $group: { _id: '$status', count: { $sum: 1 } } }, { $sort: { _id: 1 } } ], " +
+            "categoryData: [ { $group: { _id: '$category', count: { $sum: 1 } } }, { $sort: { _id: 1 } } ], " +
+            "ratingData: [ { $group: { _id: '$category', count: { $sum: 1 }, ratingSum: { $sum: '$rating' }, " +
+                "averageRating: { $avg: '$rating' } } }, { $sort: { _id: 1 } } ] " +
+        "} }";
 }
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.feedbacksystem.feedback_backend.repository;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackBulkTargetDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom Feedback queries that cannot be expressed as derived query methods.
+ * Implemented with MongoTemplate in FeedbackRepositoryImpl.
+ * <p>
+ * The list queries return FeedbackSummaryDTO projections: the embedded thread
+ * never leaves MongoDB, only its size and latest timestamp do.
+ */
+public interface FeedbackRepositoryCustom {
+
+    /**
+     * Fetches one page of feedback summaries, newest first, using keyset pagination.
+     * The page starts right after the (createdAt, id) position of the previous page's
+     * last item, so the cost of a page does not depend on how deep into the list it is.
+     *
+     * @param status          Optional status filter (null for all).
+     * @param category        Optional category filter (null for all).
+     * @param afterCreatedAt  createdAt of the last item of the previous page (null for the first page).
+     * @param afterId         id of the last item of the previous page (null for the first page).
+     * @param limit           Maximum number of items to return.
+     */
+    List<FeedbackSummaryDTO> findSummaryPage(String status, String category,
+                                             LocalDateTime afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Streams all matching feedback summaries, newest first, from a MongoDB cursor.
+     * Documents are fetched from the server in batches of the given size as the
+     * stream is consumed, so memory use does not grow with the collection.
+     * The caller must close the stream.
+     */
+    Stream<FeedbackSummaryDTO> streamSummaries(String status, String category, int batchSize);
+
+    /**
+     * Finds the summaries of all feedback submitted by a student, newest first.
+     */
+    List<FeedbackSummaryDTO> findSummariesByStudentId(String studentId);
+
+    /**
+     * Full-text search over the feedback content and its (inline) comments, using the
+     * text index. Results are ranked by relevance, then newest first, and filtered by
+     * the optional status/category/rating/date filters of the criteria.
+     *
+     * @param skip  Number of results to skip (page * page size).
+     * @param limit Maximum number of results to return.
+     */
+    List<FeedbackSearchHitDTO> searchSummaries(FeedbackSearchCriteria criteria, int skip, int limit);
+
+    /**
+     * Reads only the id, status and version of a feedback: what the atomic updates below
+     * need to be told, without loading the thread.
+     *
+     * @return The partial document, or null if it does not exist.
+     */
+    Feedback findStatusById(String feedbackId);
+
+    /**
+     * Atomically appends a comment to the thread and moves "open" feedback to "in_progress",
+     * in a single findAndModify. Concurrent replies can never overwrite each other.
+     * The version is incremented and modifiedAt set by the server.
+     *
+     * @param expectedStatus  The update only applies while the feedback has this status,
+     *                        so the caller knows what it was changed from.
+     * @param expectedVersion If not null, the update only applies while the feedback has this version.
+     * @return The document as stored by the update, or null if it does not exist
+     *         or its status or version is not the expected one.
+     */
+    Feedback pushReply(String feedbackId, Comment comment, String expectedStatus, Long expectedVersion);
+
+    /**
+     * Atomically changes the status of a feedback from {@code expectedStatus} to {@code newStatus}
+     * (and, when given, sets the resolution log). The version is incremented and modifiedAt set
+     * by the server. The resolution log is left alone otherwise, so reopened feedback keeps it.
+     *
+     * @param expectedVersion If not null, the update only applies while the feedback has this version.
+     * @return The document as stored by the update, or null if it does not exist
+     *         or its status or version is not the expected one.
+     */
+    Feedback setStatus(String feedbackId, String expectedStatus, String newStatus, ResolutionLog resolutionLog,
+                       Long expectedVersion);
+
+    /**
+     * Removes the oldest {@code count} comments from the inline thread after they were
+     * copied to a comment bucket, and adds them to archivedComments. Only applies while
+     * archivedComments still equals {@code expectedArchived}, so when two requests race
+     * to archive the same page only one of them trims the thread.
+     *
+     * @return true if the thread was trimmed.
+     */
+    boolean archiveOldestComments(String feedbackId, int count, int expectedArchived);
+
+    /**
+     * Selects the feedback a bulk operation applies to, newest first: the given ids
+     * (if not null) that match the optional filter (including its search text).
+     *
+     * @param limit Maximum number of items to return.
+     */
+    List<FeedbackBulkTargetDTO> findBulkTargets(Collection<String> ids, FeedbackSearchCriteria filter, int limit);
+
+    /**
+     * Sets the status (and, when given, the resolution log) of all targets with one unordered
+     * bulk write. Each update only applies while the feedback still has the version it was
+     * read at and a different status. The version is incremented.
+     *
+     * @return The ids that were updated.
+     */
+    Set<String> bulkSetStatus(List<FeedbackBulkTargetDTO> targets, String newStatus, ResolutionLog resolutionLog);
+
+    /**
+     * Appends one comment to each target's thread with one unordered bulk write, with the
+     * same update as {@link #pushReply}. Each update only applies while the feedback still
+     * has the version it was read at.
+     *
+     * @param comments The comment for each target id. All of them must share one userId and timestamp.
+     * @return The ids that were updated.
+     */
+    Set<String> bulkPushReplies(List<FeedbackBulkTargetDTO> targets, Map<String, Comment> comments);
+}
@@ -0,0 +1,236 @@
+package com.feedbacksystem.feedback_backend.repository;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackBulkTargetDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.NEWEST_FIRST;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.pageCriteria;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.searchFilters;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.statusUpdate;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.statusQuery;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.summaryProjection;
+
+/**
+ * MongoTemplate-based implementation of FeedbackRepositoryCustom.
+ * Spring Data picks it up automatically because of the "Impl" suffix.
+ * The filters, projections and updates themselves are built by FeedbackQueries.
+ */
+public class FeedbackRepositoryImpl implements FeedbackRepositoryCustom {
+
+    // The atomic updates return the document as they left it, with the server-set modifiedAt
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<FeedbackSummaryDTO> findSummaryPage(String status, String category,
+                                                    LocalDateTime afterCreatedAt, String afterId, int limit) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                Aggregation.match(pageCriteria(status, category, afterCreatedAt, afterId)),
+                Aggregation.sort(NEWEST_FIRST),
+                Aggregation.limit(limit),
+                summaryProjection());
+        return mongoTemplate.aggregate(aggregation, FeedbackSummaryDTO.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<FeedbackSummaryDTO> streamSummaries(String status, String category, int batchSize) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                        Aggregation.match(pageCriteria(status, category, null, null)),
+                        Aggregation.sort(NEWEST_FIRST),
+                        summaryProjection())
+                .withOptions(AggregationOptions.builder().cursorBatchSize(batchSize).build());
+        return mongoTemplate.aggregateStream(aggregation, FeedbackSummaryDTO.class);
+    }
+
+    @Override
+    public List<FeedbackSummaryDTO> findSummariesByStudentId(String studentId) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                Aggregation.match(Criteria.where("studentId").is(studentId)),
+                Aggregation.sort(NEWEST_FIRST),
+                summaryProjection());
+        return mongoTemplate.aggregate(aggregation, FeedbackSummaryDTO.class).getMappedResults();
+    }
+
+    @Override
+    public List<FeedbackSearchHitDTO> searchSummaries(FeedbackSearchCriteria criteria, int skip, int limit) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                // $text has to be in the first stage; it is answered from the text index
+                Aggregation.match(TextCriteria.forDefaultLanguage().matching(criteria.getQ())),
+                Aggregation.match(searchFilters(criteria)),
+                Aggregation.addFields().addFieldWithValue("score", new Document("$meta", "textScore")).build(),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "score", "createdAt", "id")),
+                Aggregation.skip((long) skip),
+                Aggregation.limit(limit),
+                summaryProjection("score"));
+        return mongoTemplate.aggregate(aggregation, FeedbackSearchHitDTO.class).getMappedResults();
+    }
+
+    @Override
+    public Feedback findStatusById(String feedbackId) {
+        Query query = Query.query(Criteria.where("id").is(feedbackId));
+        query.fields().include("status", "version");
+        return mongoTemplate.findOne(query, Feedback.class);
+    }
+
+    @Override
+    public Feedback pushReply(String feedbackId, Comment comment, String expectedStatus, Long expectedVersion) {
+        return mongoTemplate.findAndModify(statusQuery(feedbackId, expectedStatus, expectedVersion),
+                replyUpdate(comment), RETURN_NEW, Feedback.class);
+    }
+
+    @Override
+    public Feedback setStatus(String feedbackId, String expectedStatus, String newStatus,
+                              ResolutionLog resolutionLog, Long expectedVersion) {
+        return mongoTemplate.findAndModify(statusQuery(feedbackId, expectedStatus, expectedVersion),
+                statusUpdate(newStatus, resolutionLog), RETURN_NEW, Feedback.class);
+    }
+
+    @Override
+    public boolean archiveOldestComments(String feedbackId, int count, int expectedArchived) {
+        // Not a content change, so the version is left alone and open admin views stay valid.
+        // Setting it to itself is what keeps it: updates on the @Version entity that do not
+        // touch the version get a version + 1 added by Spring Data
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("thread").toValue(ArrayOperators.Slice.sliceArrayOf("thread").offset(count).itemCount(Integer.MAX_VALUE))
+                .set("archivedComments").toValue(expectedArchived + count)
+                .set("version").toValue(Fields.field("version"));
+
+        // Feedback stored before bucketing has no archivedComments field, which counts as 0
+        Criteria archived = (expectedArchived == 0)
+                ? Criteria.where("archivedComments").in(0, null)
+                : Criteria.where("archivedComments").is(expectedArchived);
+        Query query = Query.query(Criteria.where("id").is(feedbackId)).addCriteria(archived);
+        return mongoTemplate.updateFirst(query, update, Feedback.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public List<FeedbackBulkTargetDTO> findBulkTargets(Collection<String> ids, FeedbackSearchCriteria filter, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (filter != null && StringUtils.hasText(filter.getQ())) {
+            // $text has to be in the first stage; it is answered from the text index
+            stages.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(filter.getQ())));
+        }
+        List<Criteria> conditions = new ArrayList<>();
+        if (ids != null) {
+            conditions.add(Criteria.where("id").in(ids));
+        }
+        if (filter != null) {
+            conditions.add(searchFilters(filter));
+        }
+        stages.add(Aggregation.match(conditions.isEmpty() ? new Criteria() : new Criteria().andOperator(conditions)));
+        stages.add(Aggregation.sort(NEWEST_FIRST));
+        stages.add(Aggregation.limit(limit));
+        stages.add(summaryProjection("version", "archivedComments").and("resolutionLog.timestamp").as("resolvedAt"));
+
+        return mongoTemplate.aggregate(Aggregation.newAggregation(Feedback.class, stages),
+                FeedbackBulkTargetDTO.class).getMappedResults();
+    }
+
+    @Override
+    public Set<String> bulkSetStatus(List<FeedbackBulkTargetDTO> targets, String newStatus,
+                                     ResolutionLog resolutionLog) {
+        Update update = statusUpdate(newStatus, resolutionLog);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Feedback.class);
+        for (FeedbackBulkTargetDTO target : targets) {
+            bulk.updateOne(Query.query(readVersion(target).and("status").ne(newStatus)), update);
+        }
+        if (bulk.execute().getMatchedCount() == targets.size()) {
+            return targets.stream().map(FeedbackBulkTargetDTO::getId).collect(Collectors.toSet());
+        }
+
+        // A bulk write only reports how many updates matched, not which. The ones that did
+        // now have the new status at exactly the next version.
+        Map<String, FeedbackBulkTargetDTO> byId = targetsById(targets);
+        Set<String> updated = new HashSet<>();
+        for (Feedback current : findVersions(byId.keySet())) {
+            FeedbackBulkTargetDTO target = byId.get(current.getId());
+            if (newStatus.equals(current.getStatus())
+                    && Long.valueOf(nextVersion(target.getVersion())).equals(current.getVersion())) {
+                updated.add(current.getId());
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public Set<String> bulkPushReplies(List<FeedbackBulkTargetDTO> targets, Map<String, Comment> comments) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Feedback.class);
+        for (FeedbackBulkTargetDTO target : targets) {
+            bulk.updateOne(Query.query(readVersion(target)), replyUpdate(comments.get(target.getId())));
+        }
+        if (bulk.execute().getMatchedCount() == targets.size()) {
+            return targets.stream().map(FeedbackBulkTargetDTO::getId).collect(Collectors.toSet());
+        }
+
+        // Find out which ones matched: their thread now holds the comment of this bulk reply
+        Comment any = comments.values().iterator().next();
+        Query query = Query.query(Criteria.where("id").in(targetsById(targets).keySet())
+                .and("thread").elemMatch(Criteria.where("userId").is(any.getUserId())
+                        .and("timestamp").is(any.getTimestamp())));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Feedback.class).stream()
+                .map(Feedback::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private AggregationUpdate replyUpdate(Comment comment) {
+        return FeedbackQueries.replyUpdate(mongoTemplate.getConverter().convertToMongoType(comment));
+    }
+
+    private List<Feedback> findVersions(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("id", "status", "version");
+        return mongoTemplate.find(query, Feedback.class);
+    }
+
+    private static Map<String, FeedbackBulkTargetDTO> targetsById(List<FeedbackBulkTargetDTO> targets) {
+        return targets.stream().collect(Collectors.toMap(FeedbackBulkTargetDTO::getId, target -> target));
+    }
+
+    /**
+     * Matches a bulk target by id and the version it was read at
+     * (a missing version, for feedback saved before versioning, matches null).
+     */
+    private static Criteria readVersion(FeedbackBulkTargetDTO target) {
+        return Criteria.where("id").is(target.getId()).and("version").is(target.getVersion());
+    }
+
+    private static long nextVersion(Long version) {
+        return (version == null) ? 1L : version + 1;
+    }
+}
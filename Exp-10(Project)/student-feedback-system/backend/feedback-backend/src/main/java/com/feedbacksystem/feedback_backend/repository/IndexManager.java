@@ -0,0 +1,269 @@
+package com.feedbacksystem.feedback_backend.repository;
+
+import com.feedbacksystem.feedback_backend.model.CommentBucket;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.FeedbackCounter;
+import com.feedbacksystem.feedback_backend.model.FeedbackRollup;
+import com.feedbacksystem.feedback_backend.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Creates and checks the MongoDB indexes declared on the entities.
+ * <p>
+ * Spring Boot does not create @Indexed/@CompoundIndex indexes on its own
+ * (spring.data.mongodb.auto-index-creation is off), so this component does it
+ * once the application is ready. It then verifies that every declared index
+ * exists, and runs explain on each query the repositories issue, logging a
+ * warning for any that would scan the whole collection.
+ * <p>
+ * All of this runs on a background thread, so a slow or unreachable database
+ * never delays startup.
+ */
+@Component
+public class IndexManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexManager.class);
+
+    private static final List<Class<?>> INDEXED_ENTITIES =
+            List.of(Feedback.class, User.class, FeedbackRollup.class, FeedbackCounter.class, CommentBucket.class);
+
+    // The search text index spans the feedback and its inline replies. It is defined here rather
+    // than with @TextIndexed because Comment is also embedded in comment_buckets, which must not get one.
+    static final String FEEDBACK_TEXT_INDEX = "feedback_text";
+
+    private static final Document NEWEST_FIRST = new Document("createdAt", -1).append("_id", -1);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${feedback.indexes.ensure-on-startup:true}")
+    private boolean ensureOnStartup;
+
+    @Value("${feedback.indexes.explain-on-startup:true}")
+    private boolean explainOnStartup;
+
+    // Set once the unique email index has been seen; it is never dropped by the application
+    private final AtomicBoolean uniqueEmailIndexed = new AtomicBoolean(false);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!ensureOnStartup && !explainOnStartup) {
+            return;
+        }
+        // Spring Boot's shared executor: a platform thread pool, or virtual threads in the virtual mode
+        taskExecutor.execute(() -> {
+            try {
+                if (ensureOnStartup) {
+                    ensureIndexes();
+                }
+                if (explainOnStartup) {
+                    reportCollectionScans();
+                }
+            } catch (Exception ex) {
+                logger.error("Index check failed: {}", ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Creates every index declared on the entities (a no-op for the ones that
+     * already exist) and checks that all of them are present afterwards.
+     *
+     * @return The names of declared indexes that are missing, empty if all is well.
+     */
+    public List<String> ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        List<String> missing = new ArrayList<>();
+
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            Set<String> declared = new LinkedHashSet<>();
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity)) {
+                declared.add(indexOps.createIndex(definition));
+            }
+            if (entity == Feedback.class) {
+                declared.add(indexOps.createIndex(feedbackTextIndex()));
+            }
+
+            Set<String> existing = new LinkedHashSet<>();
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                existing.add(info.getName());
+            }
+            for (String name : declared) {
+                if (!existing.contains(name)) {
+                    missing.add(mongoTemplate.getCollectionName(entity) + "." + name);
+                }
+            }
+            logger.info("Indexes on '{}': {}", mongoTemplate.getCollectionName(entity), existing);
+        }
+
+        if (!missing.isEmpty()) {
+            logger.error("Declared indexes missing after creation: {}", missing);
+        }
+        return missing;
+    }
+
+    /**
+     * Registration inserts without looking the email up first and relies on the unique
+     * index to reject a duplicate. That index is created in the background at startup
+     * (or not at all with ensure-on-startup=false), so check it is there, creating it if
+     * it is not. Only the first successful check touches the database.
+     *
+     * @return false if the index does not exist and could not be created; callers must
+     *         then check for an existing user themselves.
+     */
+    public boolean ensureUniqueEmailIndex() {
+        if (uniqueEmailIndexed.get()) {
+            return true;
+        }
+        try {
+            IndexOperations indexOps = mongoTemplate.indexOps(User.class);
+            if (!hasUniqueEmailIndex(indexOps)) {
+                IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                        .resolveIndexFor(User.class)
+                        .forEach(indexOps::createIndex);
+            }
+            if (hasUniqueEmailIndex(indexOps)) {
+                uniqueEmailIndexed.set(true);
+                return true;
+            }
+            logger.error("No unique index on '{}'.email; registrations fall back to a lookup first",
+                    mongoTemplate.getCollectionName(User.class));
+        } catch (Exception ex) {
+            logger.error("Could not check the unique email index: {}", ex.getMessage());
+        }
+        return false;
+    }
+
+    private static boolean hasUniqueEmailIndex(IndexOperations indexOps) {
+        return indexOps.getIndexInfo().stream().anyMatch(info -> info.isUnique()
+                && info.getIndexFields().size() == 1
+                && "email".equals(info.getIndexFields().get(0).getKey()));
+    }
+
+    /**
+     * A match in the feedback itself ranks above a match in one of its replies.
+     */
+    public static TextIndexDefinition feedbackTextIndex() {
+        return new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .named(FEEDBACK_TEXT_INDEX)
+                .onField("content", 3F)
+                .onField("thread.content")
+                .build();
+    }
+
+    /**
+     * Explains every repository query shape and logs the ones whose winning
+     * plan is a collection scan (COLLSCAN).
+     *
+     * @return The names of the queries that would scan the whole collection.
+     */
+    public List<String> reportCollectionScans() {
+        List<String> collectionScans = new ArrayList<>();
+        for (Map.Entry<String, Document> query : queryShapes().entrySet()) {
+            Document explain = mongoTemplate.getDb().runCommand(
+                    new Document("explain", query.getValue()).append("verbosity", "queryPlanner"));
+
+            Set<String> stages = new LinkedHashSet<>();
+            collectStages(explain.get("queryPlanner"), stages);
+            if (stages.contains("COLLSCAN")) {
+                collectionScans.add(query.getKey());
+                logger.warn("Query '{}' falls back to a collection scan (plan: {})", query.getKey(), stages);
+            } else {
+                logger.info("Query '{}' plan: {}", query.getKey(), stages);
+            }
+        }
+        return collectionScans;
+    }
+
+    /**
+     * One representative find command per query the repositories issue.
+     * The filters are built by the same code as the real queries; only the values are samples.
+     */
+    private Map<String, Document> queryShapes() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Document> shapes = new LinkedHashMap<>();
+
+        shapes.put("feedback by student", findFeedback(Criteria.where("studentId").is("sample"), 0));
+        shapes.put("admin list", findFeedback(
+                FeedbackQueries.pageCriteria(null, null, now, "sample"), 51));
+        shapes.put("admin list by status", findFeedback(
+                FeedbackQueries.pageCriteria("open", null, now, "sample"), 51));
+        shapes.put("admin list by category", findFeedback(
+                FeedbackQueries.pageCriteria(null, "Courses", now, "sample"), 51));
+        shapes.put("admin list by category and status", findFeedback(
+                FeedbackQueries.pageCriteria("open", "Courses", now, "sample"), 51));
+        shapes.put("search", new Document("find", mongoTemplate.getCollectionName(Feedback.class))
+                .append("filter", new Document("$text", new Document("$search", "sample")))
+                .append("limit", 21));
+
+        String today = LocalDate.now().toString();
+        shapes.put("rollups by day", new Document("find", mongoTemplate.getCollectionName(FeedbackRollup.class))
+                .append("filter", new Document("day", new Document("$gte", today).append("$lte", today))));
+        shapes.put("user by email", new Document("find", mongoTemplate.getCollectionName(User.class))
+                .append("filter", new Document("email", "sample@example.com")));
+        return shapes;
+    }
+
+    private Document findFeedback(Criteria criteria, int limit) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(Feedback.class);
+        Document filter = new QueryMapper(mongoTemplate.getConverter())
+                .getMappedObject(criteria.getCriteriaObject(), entity);
+
+        Document find = new Document("find", mongoTemplate.getCollectionName(Feedback.class))
+                .append("filter", filter)
+                .append("sort", NEWEST_FIRST);
+        if (limit > 0) {
+            find.append("limit", limit);
+        }
+        return find;
+    }
+
+    /**
+     * Collects every "stage" name in an explain plan tree.
+     */
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document document) {
+            Object stage = document.get("stage");
+            if (stage instanceof String name) {
+                stages.add(name);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.feedbacksystem.feedback_backend.repository;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A named, expiring lock shared by every instance through the leases collection.
+ * The holder has to renew it (tryAcquire again) within the lease period; after that
+ * any instance may take it over. Expiry is judged by the server's clock ($$NOW), so
+ * clock skew between instances does not matter.
+ */
+public class MongoLease {
+
+    public static final String COLLECTION = "leases";
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoLease.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final String name;
+    private final long leaseMs;
+    private final String owner = UUID.randomUUID().toString();
+
+    public MongoLease(MongoTemplate mongoTemplate, String name, long leaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.name = name;
+        this.leaseMs = leaseMs;
+    }
+
+    /**
+     * Takes the lease if it is free or expired, or renews it if this instance holds it.
+     *
+     * @return false if another instance holds it.
+     */
+    public boolean tryAcquire() {
+        Document filter = new Document("_id", name).append("$or", List.of(
+                new Document("owner", owner),
+                new Document("$expr", new Document("$lt", List.of("$expiresAt", "$$NOW")))));
+        List<Document> update = List.of(new Document("$set", new Document("owner", owner)
+                .append("expiresAt", new Document("$add", List.of("$$NOW", leaseMs)))));
+        try {
+            mongoTemplate.execute(COLLECTION, collection -> collection.findOneAndUpdate(
+                    filter, update, new FindOneAndUpdateOptions().upsert(true)));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            // The lease exists but did not match: someone else holds it
+            return false;
+        }
+    }
+
+    /**
+     * Gives the lease up (if this instance holds it), so others need not wait for the expiry.
+     */
+    public void release() {
+        try {
+            mongoTemplate.getCollection(COLLECTION).deleteOne(new Document("_id", name).append("owner", owner));
+        } catch (RuntimeException ex) {
+            logger.warn("Could not release lease '{}': {}", name, ex.getMessage());
+        }
+    }
+}
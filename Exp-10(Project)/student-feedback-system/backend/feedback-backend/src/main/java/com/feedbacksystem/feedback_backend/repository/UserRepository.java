@@ -4,6 +4,8 @@ import com.feedbacksystem.feedback_backend.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,11 +25,9 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     /**
-     * Checks if a user with the given email already exists.
-     *
-     * @param email The email to check.
-     * @return true if a user with this email exists, false otherwise.
+     * Finds all users with one of the given emails in a single query.
+     * Used by the bulk import to resolve a whole batch of students at once.
      */
-    Boolean existsByEmail(String email);
+    List<User> findByEmailIn(Collection<String> emails);
 
 }
\ No newline at end of file
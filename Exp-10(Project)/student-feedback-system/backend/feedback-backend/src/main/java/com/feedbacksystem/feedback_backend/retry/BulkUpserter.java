@@ -0,0 +1,61 @@
+package com.feedbacksystem.feedback_backend.retry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a batch of upserts as one unordered bulk write, retrying the ones that lost a race.
+ * <p>
+ * Two replicas upserting the same new counter at the same moment can both try to
+ * insert it; one of them then fails with a duplicate key error. That upsert did not
+ * happen, so only the failed operations are retried (by then the document exists and
+ * the retry is a plain update). Operations that succeeded are never sent twice,
+ * which keeps $inc deltas exact.
+ */
+@Component
+public class BulkUpserter {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RetryPolicy retryPolicy;
+
+    public void upsertAll(Class<?> entityClass, List<Pair<Query, Update>> upserts) {
+        if (upserts.isEmpty()) {
+            return;
+        }
+
+        AtomicReference<List<Pair<Query, Update>>> pending = new AtomicReference<>(upserts);
+        retryPolicy.execute(() -> {
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entityClass)
+                        .upsert(pending.get())
+                        .execute();
+                return null;
+            } catch (BulkOperationException ex) {
+                List<Pair<Query, Update>> lostRaces = ex.getErrors().stream()
+                        .filter(error -> error.getCode() == DUPLICATE_KEY)
+                        .map(error -> pending.get().get(error.getIndex()))
+                        .toList();
+                if (lostRaces.size() != ex.getErrors().size()) {
+                    throw ex; // Some other write error: not safe to retry blindly
+                }
+                pending.set(lostRaces);
+                throw new DuplicateKeyException(lostRaces.size() + " concurrent upserts need a retry", ex);
+            }
+        }, ex -> ex instanceof DuplicateKeyException);
+    }
+}
@@ -0,0 +1,72 @@
+package com.feedbacksystem.feedback_backend.retry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded retry with exponential backoff and full jitter, for the service's
+ * own internal updates (never for admin edits, which report conflicts instead).
+ * <p>
+ * The wait before attempt n+1 is a random value between 0 and
+ * min(maxDelay, baseDelay * 2^(n-1)), so replicas that collided once
+ * do not collide again in lock-step.
+ */
+@Component
+public class RetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public RetryPolicy(@Value("${feedback.retry.max-attempts:4}") int maxAttempts,
+                       @Value("${feedback.retry.base-delay-ms:20}") long baseDelayMs,
+                       @Value("${feedback.retry.max-delay-ms:500}") long maxDelayMs) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Runs the action, retrying it while it throws an exception accepted by
+     * {@code retryable} and attempts remain. The last failure is rethrown.
+     * The action must be safe to repeat after a retryable failure.
+     */
+    public <T> T execute(Supplier<T> action, Predicate<? super RuntimeException> retryable) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (RuntimeException ex) {
+                if (attempt >= maxAttempts || !retryable.test(ex)) {
+                    throw ex;
+                }
+                logger.debug("Attempt {} of {} failed, retrying: {}", attempt, maxAttempts, ex.getMessage());
+                sleep(backoffMs(attempt));
+            }
+        }
+    }
+
+    long backoffMs(int attempt) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", ex);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.feedbacksystem.feedback_backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt strength (cost factor) for new password hashes.
+ * <p>
+ * A configured strength is used as is. Otherwise the hash time at the minimum strength is
+ * measured on this machine, and the highest strength whose hash is estimated to stay within
+ * the latency budget is chosen; every step up doubles the work. Different machines can end
+ * up with different strengths, so pin security.password.bcrypt.strength when replicas run
+ * on mixed hardware (existing hashes are only ever upgraded, never downgraded).
+ */
+public final class BCryptCalibration {
+
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCalibration.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BCryptCalibration() {
+    }
+
+    /**
+     * @param configured  The configured strength, or 0 to calibrate.
+     * @param targetMs    The latency budget for one hash.
+     * @param minStrength The lowest strength calibration may pick.
+     * @param maxStrength The highest strength calibration may pick.
+     */
+    public static int resolveStrength(int configured, long targetMs, int minStrength, int maxStrength) {
+        if (configured > 0) {
+            logger.info("BCrypt strength {} (configured)", configured);
+            return configured;
+        }
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strengths must satisfy 4 <= min <= max <= 31");
+        }
+
+        double baseMs = measureMs(minStrength);
+        int strength = minStrength;
+        while (strength < maxStrength && baseMs * (1L << (strength + 1 - minStrength)) <= targetMs) {
+            strength++;
+        }
+        logger.info("BCrypt strength {} (calibrated: strength {} hashes in {} ms here, budget {} ms, ~{} ms per hash)",
+                strength, minStrength, Math.round(baseMs), targetMs,
+                Math.round(baseMs * (1L << (strength - minStrength))));
+        return strength;
+    }
+
+    /**
+     * The fastest of a few hashes at the given strength, after one warm-up.
+     */
+    static double measureMs(int strength) {
+        String salt = BCrypt.gensalt(strength);
+        BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+            best = Math.min(best, System.nanoTime() - startedAt);
+        }
+        return best / 1_000_000.0;
+    }
+}
@@ -1,14 +1,15 @@
 package com.feedbacksystem.feedback_backend.security;
 
 import com.feedbacksystem.feedback_backend.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -19,6 +20,10 @@ import java.io.IOException;
 /**
  * A filter that runs once per request to validate the JWT token.
  * This is the "security guard" for our API.
+ * <p>
+ * With {@code jwt.stateless=true} the principal is built from the token claims
+ * alone and the request needs no database access; otherwise it is loaded
+ * (through the principal cache) by CustomUserDetailsService.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,6 +34,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${jwt.stateless:false}")
+    private boolean statelessMode;
+
     /**
      * This is the main filter logic.
      */
@@ -41,23 +52,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. Get the token from the request
             String jwt = getJwtFromRequest(request);
 
-            // 2. Validate the token
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                
-                // 3. Get the username (email) from the token
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            // 2. Validate the token and get its claims (email, roles, user id, token version) in one parse
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseAndValidate(jwt) : null;
+
+            if (claims != null) {
+                // 3. Build the user's principal, from the token itself or from the database
+                // (older tokens without a user id claim always go through the database)
+                UserPrincipal principal = statelessMode && claims.containsKey(JwtTokenProvider.USER_ID_CLAIM)
+                        ? tokenProvider.getPrincipalFromClaims(claims)
+                        : customUserDetailsService.loadUserByUsername(claims.getSubject());
+
+                // 4. Reject tokens issued before the user's sessions were revoked
+                if (isTokenVersionCurrent(principal, tokenProvider.getTokenVersion(claims))) {
 
-                // 4. Load the user's details (including roles)
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                    // 5. Create an "Authentication" object (the user's "session")
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            principal, null, principal.getAuthorities());
 
-                // 5. Create an "Authentication" object (the user's "session")
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // 6. Set the user in the SecurityContext. This tells Spring Security the user is authenticated.
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    // 6. Set the user in the SecurityContext. This tells Spring Security the user is authenticated.
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             // If anything goes wrong, we log it and don't authenticate the user
@@ -68,6 +84,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Checks the token's version against the newest one we know of.
+     * In stateless mode only revocations recorded in the registry are visible.
+     */
+    private boolean isTokenVersionCurrent(UserPrincipal principal, int tokenVersion) {
+        if (statelessMode) {
+            return tokenVersionRegistry.isCurrent(principal.getEmail(), tokenVersion);
+        }
+        return tokenVersion >= principal.getTokenVersion();
+    }
+
     /**
      * Helper method to get the token from the "Authorization" header.
      */
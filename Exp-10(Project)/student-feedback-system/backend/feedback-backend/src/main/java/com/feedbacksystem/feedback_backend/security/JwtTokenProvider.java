@@ -1,5 +1,7 @@
 package com.feedbacksystem.feedback_backend.security;
 
+import com.feedbacksystem.feedback_backend.cache.ExpiringLruCache;
+import com.feedbacksystem.feedback_backend.model.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -15,22 +17,42 @@ import java.util.stream.Collectors;
 
 /**
  * Utility class for handling JWT operations (creation, validation).
+ * <p>
+ * Verification uses a single, pre-built JwtParser (it is immutable and thread-safe),
+ * and recently verified tokens are remembered until their "exp" claim, so a client
+ * that sends the same token on every request only pays for the HS512 check once.
  */
 @Component // Tells Spring to manage this class as a bean
 public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    // Custom claim names
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String NAME_CLAIM = "name";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     private final SecretKey jwtSecretKey;
     private final long jwtExpirationMs;
+    private final JwtParser jwtParser;
+
+    // Verified token -> its claims. Null when the cache is disabled (max-size 0).
+    private final ExpiringLruCache<String, Claims> verifiedTokens;
 
     // Constructor that reads values from application.properties
     public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
-                            @Value("${jwt.expiration-ms}") long jwtExpirationMs) {
+                            @Value("${jwt.expiration-ms}") long jwtExpirationMs,
+                            @Value("${jwt.verified-cache.max-size:10000}") int verifiedCacheSize,
+                            @Value("${jwt.verified-cache.ttl-ms:300000}") long verifiedCacheTtlMs) {
         
         // Creates a secure key object from our secret string
         this.jwtSecretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         this.jwtExpirationMs = jwtExpirationMs;
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(jwtSecretKey).build();
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? new ExpiringLruCache<>(verifiedCacheSize, verifiedCacheTtlMs)
+                : null;
     }
 
     /**
@@ -49,9 +71,18 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         // Build the token
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username) // The user's email
-                .claim("roles", roles) // Add roles as a custom "claim"
+                .claim(ROLES_CLAIM, roles); // Add roles as a custom "claim"
+
+        // The user id and token version let the filter work without a database lookup
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            builder.claim(USER_ID_CLAIM, principal.getId())
+                    .claim(NAME_CLAIM, principal.getName())
+                    .claim(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+        }
+
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(jwtSecretKey, SignatureAlgorithm.HS512) // Sign with our secret key
@@ -59,24 +90,29 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Extracts the username (email) from a JWT token.
+     * Validates a JWT token and returns its claims in a single parse.
+     * Recently verified tokens are served from the cache until they expire.
+     *
+     * @return The token's claims, or null if the token is not valid.
      */
-    public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(jwtSecretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-    }
+    public Claims parseAndValidate(String token) {
+        if (verifiedTokens != null) {
+            Claims cached = verifiedTokens.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-    /**
-     * Validates a JWT token.
-     */
-    public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(jwtSecretKey).build().parseClaimsJws(token);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (verifiedTokens != null) {
+                // Never keep a token in the cache past its own expiry
+                long expiresAt = claims.getExpiration() != null
+                        ? claims.getExpiration().getTime()
+                        : Long.MAX_VALUE;
+                verifiedTokens.put(token, claims, expiresAt);
+            }
+            return claims;
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -85,7 +121,36 @@ public class JwtTokenProvider {
             logger.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty");
- }
-        return false;
+        } catch (JwtException ex) {
+            logger.error("JWT signature validation failed");
+        }
+        return null;
+    }
+
+    /**
+     * Builds the authenticated principal straight from verified token claims.
+     * Used by the stateless authentication mode; the password is not known here.
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        String roles = claims.get(ROLES_CLAIM, String.class);
+        // Our users have exactly one role, so the first entry is the one we need
+        Role role = Role.valueOf(roles.split(",")[0]);
+
+        return new UserPrincipal(
+                claims.get(USER_ID_CLAIM, String.class),
+                claims.get(NAME_CLAIM, String.class),
+                claims.getSubject(),
+                null,
+                role,
+                getTokenVersion(claims)
+        );
+    }
+
+    /**
+     * Reads the token version claim. Tokens issued before the claim existed count as version 0.
+     */
+    public int getTokenVersion(Claims claims) {
+        Integer version = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return version != null ? version : 0;
     }
-}
\ No newline at end of file
+}
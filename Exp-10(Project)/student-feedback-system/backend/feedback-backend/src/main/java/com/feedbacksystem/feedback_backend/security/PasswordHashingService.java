@@ -0,0 +1,85 @@
+package com.feedbacksystem.feedback_backend.security;
+
+import com.feedbacksystem.feedback_backend.exception.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs the work that hashes passwords (login, registration) on its own small, bounded
+ * thread pool. BCrypt is deliberately CPU-heavy; with a fixed number of hashing threads a
+ * login storm can only ever take that many cores, and the request threads are released
+ * while the hash runs, so the rest of the API keeps responding. Once the queue in front of
+ * the pool is full, new work is refused with a {@link PasswordHashingBusyException}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHashingService(@Value("${security.password.hash-threads:0}") int threads,
+                                  @Value("${security.password.hash-queue-capacity:200}") int queueCapacity,
+                                  @Value("${security.password.retry-after-seconds:2}") int retryAfterSeconds) {
+        // By default half the cores, so hashing can never take the whole machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs the task on a hashing thread.
+     *
+     * @return The task's result; completes with a PasswordHashingBusyException if the queue is full.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    completed.incrementAndGet();
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(new PasswordHashingBusyException(retryAfterSeconds));
+        }
+    }
+
+    /**
+     * Pool size, queue depth and completed/rejected counts.
+     */
+    public Map<String, Long> getStats() {
+        return Map.of(
+                "threads", (long) executor.getMaximumPoolSize(),
+                "active", (long) executor.getActiveCount(),
+                "queued", (long) executor.getQueue().size(),
+                "completed", completed.get(),
+                "rejected", rejected.get());
+    }
+}
@@ -0,0 +1,75 @@
+package com.feedbacksystem.feedback_backend.security;
+
+import com.feedbacksystem.feedback_backend.repository.MongoLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes sure at most one instance runs stateless JWT mode without the change feed.
+ * Such an instance only hears about the revocations it makes itself, so a second one
+ * would keep accepting tokens the first one revoked.
+ * <p>
+ * The instance holds a {@link MongoLease} and renews it on its own thread; an instance
+ * that finds the lease held by a live owner refuses to start.
+ */
+class StatelessInstanceLease {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatelessInstanceLease.class);
+
+    private final MongoLease lease;
+    private final long leaseMs;
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stateless-jwt-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    StatelessInstanceLease(MongoTemplate mongoTemplate, long leaseMs) {
+        this.lease = new MongoLease(mongoTemplate, "stateless-jwt", leaseMs);
+        this.leaseMs = leaseMs;
+    }
+
+    /**
+     * Takes the lease, waiting out one lease period if a crashed instance still holds it.
+     *
+     * @throws IllegalStateException if another live instance holds it.
+     */
+    void acquire() {
+        if (!lease.tryAcquire()) {
+            // Possibly our own previous run, which stopped without releasing it
+            logger.info("Stateless JWT lease is held by another instance; waiting {} ms for it to expire", leaseMs);
+            try {
+                Thread.sleep(leaseMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (!lease.tryAcquire()) {
+                throw new IllegalStateException("Another instance is running with jwt.stateless=true. Revocations "
+                        + "are only shared between instances through the change feed; set feedback.changes.enabled=true");
+            }
+        }
+        long renewEvery = Math.max(1, leaseMs / 3);
+        renewer.scheduleWithFixedDelay(this::renew, renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+    }
+
+    void release() {
+        renewer.shutdownNow();
+        // Lets a restarted instance take over at once instead of waiting for the expiry
+        lease.release();
+    }
+
+    private void renew() {
+        try {
+            if (!lease.tryAcquire()) {
+                logger.error("Lost the stateless JWT lease to another instance; revocations made there are not seen here");
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Could not renew the stateless JWT lease: {}", ex.getMessage());
+        }
+    }
+}
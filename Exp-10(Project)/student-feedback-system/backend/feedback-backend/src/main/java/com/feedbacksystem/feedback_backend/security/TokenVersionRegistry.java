@@ -0,0 +1,102 @@
+package com.feedbacksystem.feedback_backend.security;
+
+import com.feedbacksystem.feedback_backend.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the latest token version of users whose sessions were revoked.
+ * In stateless JWT mode this is the only thing standing between a revoked
+ * token and the API, because the filter never reads the user from MongoDB.
+ * Users that were never revoked have no entry and every version is accepted.
+ * <p>
+ * In stateless mode it is filled from MongoDB at startup, so revocations survive a
+ * restart. Later revocations made on other instances only arrive through the change
+ * feed; without it, a {@link StatelessInstanceLease} keeps stateless mode to one instance.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${jwt.stateless:false}")
+    private boolean statelessMode;
+
+    @Value("${feedback.changes.enabled:false}")
+    private boolean changeFeedEnabled;
+
+    // Only for tests without a MongoDB; in production it would let revoked tokens back in
+    @Value("${jwt.stateless.load-revocations:true}")
+    private boolean loadRevocations;
+
+    @Value("${jwt.stateless.lease-ms:30000}")
+    private long leaseMs;
+
+    private final Map<String, Integer> minimumVersions = new ConcurrentHashMap<>();
+    private StatelessInstanceLease lease;
+
+    @PostConstruct
+    void start() {
+        if (!statelessMode || !loadRevocations) {
+            return;
+        }
+        if (!changeFeedEnabled) {
+            lease = new StatelessInstanceLease(mongoTemplate, leaseMs);
+            lease.acquire();
+        }
+        int revoked = reloadRevoked();
+        logger.info("Stateless JWT mode: loaded the token versions of {} revoked user(s)", revoked);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (lease != null) {
+            lease.release();
+        }
+    }
+
+    /**
+     * Records that tokens older than the given version are no longer valid.
+     */
+    public void recordVersion(String email, int version) {
+        minimumVersions.merge(email, version, Math::max);
+    }
+
+    /**
+     * Reads the token version of every user that was ever revoked from MongoDB.
+     *
+     * @return The number of such users.
+     */
+    public int reloadRevoked() {
+        Query revoked = Query.query(Criteria.where("tokenVersion").gt(0));
+        revoked.fields().include("email", "tokenVersion");
+        int count = 0;
+        for (User user : mongoTemplate.find(revoked, User.class)) {
+            recordVersion(user.getEmail(), user.getTokenVersion());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether a token with the given version is still accepted.
+     */
+    public boolean isCurrent(String email, int tokenVersion) {
+        Integer minimum = minimumVersions.get(email);
+        return minimum == null || tokenVersion >= minimum;
+    }
+}
@@ -0,0 +1,58 @@
+package com.feedbacksystem.feedback_backend.security;
+
+import com.feedbacksystem.feedback_backend.model.Role;
+import com.feedbacksystem.feedback_backend.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * The authenticated user as seen by Spring Security.
+ * Besides the email and role it carries the MongoDB user id, the display name
+ * and the token version, so the JWT filter can build it either from the database
+ * or straight from the token claims. Controllers receive it through
+ * {@code @AuthenticationPrincipal} and never have to look the user up again.
+ * <p>
+ * It is immutable and deliberately not a CredentialsContainer, so the same
+ * instance can safely be cached and shared between requests.
+ */
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements UserDetails {
+
+    private final String id;
+    private final String name;
+    private final String email;
+    private final String password; // BCrypt hash, null when built from a token
+    private final Role role;
+    private final int tokenVersion;
+
+    /**
+     * Builds a principal from a User document loaded from MongoDB.
+     */
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                user.getTokenVersion()
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
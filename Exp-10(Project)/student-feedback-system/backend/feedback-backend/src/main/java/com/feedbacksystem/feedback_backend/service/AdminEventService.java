@@ -0,0 +1,259 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.AnalyticsDeltaDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminSummaryDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackEventDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.FeedbackCounter;
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes feedback and analytics changes to open admin dashboards as Server-Sent Events,
+ * so a dashboard loads once and then updates itself instead of being reloaded.
+ * <p>
+ * Callers only queue an event; a single "admin-events" thread serialises and sends it to
+ * every subscriber, so a slow dashboard never holds up the request that made the change,
+ * and events reach every dashboard in the same order. Nothing is done while no dashboard
+ * is connected. If the queue overflows, the events are dropped and the dashboards are told
+ * to reload ("resync") instead. Every event carries an increasing id.
+ * <p>
+ * Events only cover changes made on this instance.
+ */
+@Service
+public class AdminEventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminEventService.class);
+
+    // Event names, as seen by the dashboard
+    public static final String READY = "ready";
+    public static final String FEEDBACK_CREATED = "feedback-created";
+    public static final String STATUS_CHANGED = "status-changed";
+    public static final String REPLY_POSTED = "reply-posted";
+    public static final String ANALYTICS_DELTA = "analytics-delta";
+    public static final String RESYNC = "resync";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${feedback.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feedback.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${feedback.events.max-subscribers:100}")
+    private int maxSubscribers;
+
+    @Value("${feedback.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private final Set<SseEmitter> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean dropped = new AtomicBoolean(false);
+
+    private ThreadPoolExecutor dispatcher;
+
+    @PostConstruct
+    void start() {
+        dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "admin-events");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(SseEmitter::complete);
+        subscribers.clear();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens a new event stream. The first event is "ready"; the stream ends after
+     * feedback.events.timeout-ms, and the dashboard is expected to reconnect and reload.
+     *
+     * @return The stream, or null if feedback.events.max-subscribers streams are already open.
+     */
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> {
+            subscribers.remove(emitter);
+            emitter.complete();
+        });
+        emitter.onError(ex -> subscribers.remove(emitter));
+        subscribers.add(emitter);
+
+        dispatch(() -> send(emitter, SseEmitter.event().name(READY).data(Map.of())));
+        return emitter;
+    }
+
+    /**
+     * New feedback was stored. The event data is the row of the admin list.
+     */
+    public void feedbackCreated(List<Feedback> created) {
+        if (!hasSubscribers() || created.isEmpty()) {
+            return;
+        }
+        // The student names are looked up on the event thread, one query per batch
+        dispatch(() -> {
+            List<String> studentIds = created.stream()
+                    .filter(feedback -> !feedback.isAnonymous())
+                    .map(Feedback::getStudentId)
+                    .distinct()
+                    .toList();
+            Map<String, User> userMap = userRepository.findAllById(studentIds).stream()
+                    .collect(Collectors.toMap(User::getId, user -> user));
+            for (Feedback feedback : created) {
+                broadcast(FEEDBACK_CREATED, FeedbackAdminSummaryDTO.of(summaryOf(feedback),
+                        userMap.get(feedback.getStudentId())));
+            }
+        });
+    }
+
+    public void statusChanged(String feedbackId, String previousStatus, String status, Long version) {
+        if (hasSubscribers()) {
+            FeedbackEventDTO event = new FeedbackEventDTO(feedbackId, status, previousStatus, version, LocalDateTime.now());
+            dispatch(() -> broadcast(STATUS_CHANGED, event));
+        }
+    }
+
+    public void replyPosted(String feedbackId, String previousStatus, String status, Long version,
+                            LocalDateTime postedAt) {
+        if (hasSubscribers()) {
+            FeedbackEventDTO event = new FeedbackEventDTO(feedbackId, status, previousStatus, version, postedAt);
+            dispatch(() -> broadcast(REPLY_POSTED, event));
+        }
+    }
+
+    /**
+     * The dashboard counters changed by the given deltas (counter id -> amount).
+     */
+    public void analyticsChanged(Map<String, Long> counterDeltas) {
+        if (!hasSubscribers() || counterDeltas.isEmpty()) {
+            return;
+        }
+        AnalyticsDeltaDTO delta = new AnalyticsDeltaDTO();
+        counterDeltas.forEach((id, amount) -> {
+            if (amount == 0) {
+                return;
+            }
+            String[] parts = id.split(":", 2);
+            switch (parts[0]) {
+                case FeedbackCounter.STATUS -> delta.getStatus().put(parts[1], amount);
+                case FeedbackCounter.CATEGORY -> delta.getCategory().put(parts[1], amount);
+                case FeedbackCounter.RATING_SUM -> delta.getRatingSum().put(parts[1], amount);
+                default -> { }
+            }
+        });
+        dispatch(() -> broadcast(ANALYTICS_DELTA, delta));
+    }
+
+    /**
+     * Tells every dashboard to reload, e.g. after the counters were rebuilt.
+     */
+    public void resync(String reason) {
+        if (hasSubscribers()) {
+            dispatch(() -> broadcast(RESYNC, Map.of("reason", reason)));
+        }
+    }
+
+    /**
+     * Sends a comment line now and then, so proxies keep idle streams open
+     * and closed connections are noticed.
+     */
+    @Scheduled(fixedDelayString = "${feedback.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (hasSubscribers()) {
+            dispatch(() -> subscribers.forEach(emitter -> send(emitter, SseEmitter.event().comment("keep-alive"))));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "subscribers", subscribers.size(),
+                "queued", dispatcher.getQueue().size(),
+                "lastEventId", sequence.get());
+    }
+
+    private boolean hasSubscribers() {
+        return enabled && !subscribers.isEmpty();
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // Queue full (or shutting down): the dashboards have missed something
+            dropped.set(true);
+        }
+    }
+
+    // Only ever called on the event thread
+    private void broadcast(String name, Object data) {
+        if (dropped.getAndSet(false)) {
+            logger.warn("Admin event queue overflowed; asking {} dashboards to reload", subscribers.size());
+            sendToAll(RESYNC, Map.of("reason", "Some updates were dropped"));
+        }
+        sendToAll(name, data);
+    }
+
+    private void sendToAll(String name, Object data) {
+        String id = String.valueOf(sequence.incrementAndGet());
+        for (SseEmitter emitter : subscribers) {
+            send(emitter, SseEmitter.event().id(id).name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException ex) {
+            // The dashboard went away; the container completes the emitter
+            subscribers.remove(emitter);
+        }
+    }
+
+    private static FeedbackSummaryDTO summaryOf(Feedback feedback) {
+        int threadSize = (feedback.getThread() != null ? feedback.getThread().size() : 0)
+                + feedback.getArchivedComments();
+        return new FeedbackSummaryDTO(feedback.getId(), feedback.getStudentId(), feedback.isAnonymous(),
+                feedback.getContent(), feedback.getRating(), feedback.getCategory(), feedback.getStatus(),
+                feedback.getCreatedAt(), threadSize, feedback.getCreatedAt());
+    }
+}
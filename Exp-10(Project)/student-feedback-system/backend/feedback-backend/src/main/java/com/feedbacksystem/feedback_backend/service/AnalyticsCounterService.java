@@ -0,0 +1,270 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.AnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.RatingAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.model.FeedbackCounter;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import com.feedbacksystem.feedback_backend.retry.BulkUpserter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the materialised status/category counters used by the analytics dashboard.
+ * <p>
+ * FeedbackService reports every change that affects a bucket, and the counters are
+ * updated atomically with $inc (upserting missing buckets). Reading the analytics is
+ * then a scan of the small 'feedback_counters' collection instead of a $group over
+ * every feedback document. A periodic reconcile job recomputes the counters from
+ * the feedback collection to repair any drift (e.g. a crash between a write and its $inc).
+ */
+@Service
+public class AnalyticsCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsCounterService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BulkUpserter bulkUpserter;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private AdminEventService adminEventService;
+
+    @Value("${feedback.analytics.counters.enabled:true}")
+    private boolean enabled;
+
+    // Set once we know the counters collection has been populated on this node
+    private final AtomicBoolean initialised = new AtomicBoolean(false);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counts a newly submitted feedback.
+     */
+    public void recordSubmitted(String status, String category, int rating) {
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        addSubmittedDeltas(deltas, status, category, rating);
+        applyDeltas(deltas);
+    }
+
+    /**
+     * Adds the deltas of one new feedback to a map of pending deltas.
+     */
+    public static void addSubmittedDeltas(Map<String, Long> deltas, String status, String category, int rating) {
+        addDelta(deltas, FeedbackCounter.STATUS, status, 1);
+        addDelta(deltas, FeedbackCounter.CATEGORY, category, 1);
+        addDelta(deltas, FeedbackCounter.RATING_SUM, category, rating);
+    }
+
+    /**
+     * Moves one feedback from the old status bucket to the new one.
+     */
+    public void recordStatusChange(String oldStatus, String newStatus) {
+        if (Objects.equals(oldStatus, newStatus)) {
+            return;
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        addDelta(deltas, FeedbackCounter.STATUS, oldStatus, -1);
+        addDelta(deltas, FeedbackCounter.STATUS, newStatus, 1);
+        applyDeltas(deltas);
+    }
+
+    /**
+     * Adds a change to a map of pending counter deltas. Callers that touch many
+     * documents at once collect their deltas first and apply them in one go.
+     */
+    public static void addDelta(Map<String, Long> deltas, String dimension, String key, long delta) {
+        deltas.merge(FeedbackCounter.idOf(dimension, key), delta, Long::sum);
+    }
+
+    /**
+     * Applies a set of counter deltas (counter id -> amount) in a single unordered bulk write.
+     * Upserts that lose an insert race with another replica are retried.
+     */
+    public void applyDeltas(Map<String, Long> deltas) {
+        // Open dashboards apply the same deltas to what they show, counters or not
+        adminEventService.analyticsChanged(deltas);
+        if (!enabled || deltas.isEmpty()) {
+            return;
+        }
+        bulkUpserter.upsertAll(FeedbackCounter.class, toUpserts(deltas));
+    }
+
+    /**
+     * Turns counter deltas into upserting $inc updates, one per non-zero delta.
+     */
+    public static List<Pair<Query, Update>> toUpserts(Map<String, Long> deltas) {
+        List<Pair<Query, Update>> upserts = new ArrayList<>();
+        for (Map.Entry<String, Long> delta : deltas.entrySet()) {
+            if (delta.getValue() == 0) {
+                continue;
+            }
+            String[] parts = delta.getKey().split(":", 2);
+            upserts.add(Pair.of(
+                    Query.query(Criteria.where("_id").is(delta.getKey())),
+                    new Update()
+                            .inc("count", delta.getValue())
+                            .setOnInsert("dimension", parts[0])
+                            .setOnInsert("key", parts[1])));
+        }
+        return upserts;
+    }
+
+    /**
+     * Reads all counters in one query and shapes them like the $facet aggregation result.
+     * The overall averageRating is left for the caller to fill in.
+     */
+    public DashboardAnalyticsDTO getDashboard() {
+        ensureInitialised();
+        return toDashboard(mongoTemplate.find(dashboardQuery(), FeedbackCounter.class));
+    }
+
+    /**
+     * Selects the non-empty counters the dashboard is built from.
+     */
+    public static Query dashboardQuery() {
+        return Query.query(Criteria.where("dimension")
+                        .in(FeedbackCounter.STATUS, FeedbackCounter.CATEGORY, FeedbackCounter.RATING_SUM)
+                        .and("count").gt(0))
+                .with(Sort.by("key"));
+    }
+
+    /**
+     * Shapes the counters selected by {@link #dashboardQuery()} like the $facet aggregation result.
+     */
+    public static DashboardAnalyticsDTO toDashboard(List<FeedbackCounter> counters) {
+        List<AnalyticsDTO> statusData = new ArrayList<>();
+        List<AnalyticsDTO> categoryData = new ArrayList<>();
+        Map<String, Long> ratingSums = new HashMap<>();
+        for (FeedbackCounter counter : counters) {
+            switch (counter.getDimension()) {
+                case FeedbackCounter.STATUS -> statusData.add(toAnalyticsDTO(counter));
+                case FeedbackCounter.CATEGORY -> categoryData.add(toAnalyticsDTO(counter));
+                default -> ratingSums.put(counter.getKey(), counter.getCount());
+            }
+        }
+
+        List<RatingAnalyticsDTO> ratingData = new ArrayList<>();
+        for (AnalyticsDTO category : categoryData) {
+            long ratingSum = ratingSums.getOrDefault(category.get_id(), 0L);
+            ratingData.add(new RatingAnalyticsDTO(category.get_id(), category.getCount(), ratingSum,
+                    (double) ratingSum / category.getCount()));
+        }
+
+        return new DashboardAnalyticsDTO(statusData, categoryData, ratingData, 0);
+    }
+
+    private static AnalyticsDTO toAnalyticsDTO(FeedbackCounter counter) {
+        AnalyticsDTO dto = new AnalyticsDTO();
+        dto.set_id(counter.getKey());
+        dto.setCount((int) counter.getCount());
+        return dto;
+    }
+
+    /**
+     * Periodically recomputes all counters from the feedback collection.
+     */
+    @Scheduled(initialDelayString = "${feedback.analytics.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${feedback.analytics.reconcile-interval-ms:3600000}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (Exception ex) {
+            logger.error("Could not reconcile analytics counters", ex);
+        }
+    }
+
+    /**
+     * Recomputes every counter from the feedback collection and overwrites the stored values.
+     * Buckets that no longer have any feedback are reset to zero.
+     * Writes that land while the rebuild runs may be off by one until the next reconcile.
+     */
+    public void rebuild() {
+        // One $facet pass gives us every bucket
+        DashboardAnalyticsDTO dashboard = feedbackRepository.aggregateDashboard();
+
+        Map<String, Long> actual = new LinkedHashMap<>();
+        dashboard.getStatusData().forEach(row ->
+                actual.put(FeedbackCounter.idOf(FeedbackCounter.STATUS, row.get_id()), (long) row.getCount()));
+        dashboard.getCategoryData().forEach(row ->
+                actual.put(FeedbackCounter.idOf(FeedbackCounter.CATEGORY, row.get_id()), (long) row.getCount()));
+        dashboard.getRatingData().forEach(row ->
+                actual.put(FeedbackCounter.idOf(FeedbackCounter.RATING_SUM, row.get_id()), row.getRatingSum()));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FeedbackCounter.class);
+        Set<String> stale = new HashSet<>();
+        for (FeedbackCounter counter : mongoTemplate.findAll(FeedbackCounter.class)) {
+            if (!actual.containsKey(counter.getId())) {
+                stale.add(counter.getId());
+            }
+        }
+        for (String id : stale) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(id)), new Update().set("count", 0L));
+        }
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            String[] parts = entry.getKey().split(":", 2);
+            bulk.upsert(
+                    Query.query(Criteria.where("_id").is(entry.getKey())),
+                    new Update()
+                            .set("count", entry.getValue())
+                            .set("dimension", parts[0])
+                            .set("key", parts[1]));
+        }
+        bulk.upsert(
+                Query.query(Criteria.where("_id").is(FeedbackCounter.REBUILT_MARKER_ID)),
+                new Update().set("dimension", "meta").set("key", "rebuilt"));
+        bulk.execute();
+
+        initialised.set(true);
+        logger.info("Rebuilt analytics counters: {} buckets, {} reset", actual.size(), stale.size());
+        // Any drift that was repaired never went out as a delta
+        adminEventService.resync("Analytics counters were rebuilt");
+    }
+
+    /**
+     * On a fresh deployment the counters have never been built from the existing data;
+     * do that once before the first read.
+     */
+    private void ensureInitialised() {
+        if (initialised.get()) {
+            return;
+        }
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(FeedbackCounter.REBUILT_MARKER_ID)),
+                FeedbackCounter.class)) {
+            initialised.set(true);
+        } else {
+            rebuild();
+        }
+    }
+}
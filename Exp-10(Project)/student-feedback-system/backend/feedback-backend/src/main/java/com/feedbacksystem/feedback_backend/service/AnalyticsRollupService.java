@@ -0,0 +1,515 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.RatingDistributionDTO;
+import com.feedbacksystem.feedback_backend.dto.ResolutionTimeDTO;
+import com.feedbacksystem.feedback_backend.dto.TrendPointDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.FeedbackRollup;
+import com.feedbacksystem.feedback_backend.repository.MongoLease;
+import com.feedbacksystem.feedback_backend.retry.BulkUpserter;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the daily per-category rollups behind the trend charts.
+ * <p>
+ * Every submission and every resolution is added to its day's bucket with an
+ * upserting $inc, so a year of trends is at most 366 small documents per category.
+ * A resolution counts only while the feedback stays resolved, on the day of its
+ * latest resolutionLog: reopening takes it back out, resolving again adds the new one.
+ * Rating distributions are kept as 1-5 star counters, and time-to-resolution as a
+ * log-scale histogram from which percentiles are estimated.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    // Resolution-time histogram buckets grow by 25% each, which bounds the percentile error
+    private static final double BUCKET_BASE = 1.25;
+
+    private static final String REBUILT_MARKER_ID = "meta|rebuilt";
+
+    private static final String RESOLVED = "resolved";
+
+    // A rebuild is written here first and then renamed over feedback_rollups
+    private static final String STAGING_COLLECTION = "feedback_rollups_rebuild";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private BulkUpserter bulkUpserter;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${feedback.analytics.rollups.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feedback.analytics.rollups.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    // Lease held by the instance running a rebuild; renewed while the feedback is streamed
+    @Value("${feedback.analytics.rollups.rebuild-lease-ms:120000}")
+    private long rebuildLeaseMs;
+
+    private final AtomicBoolean initialised = new AtomicBoolean(false);
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private MongoLease rebuildLease;
+
+    @PostConstruct
+    void createLease() {
+        rebuildLease = new MongoLease(mongoTemplate, "feedback-rollups-rebuild", rebuildLeaseMs);
+    }
+
+    /**
+     * Adds a newly submitted feedback to its day's bucket.
+     */
+    public void recordSubmitted(LocalDateTime createdAt, String category, int rating) {
+        Map<String, RollupDelta> deltas = new HashMap<>();
+        addSubmitted(deltas, createdAt, category, rating);
+        applyDeltas(deltas);
+    }
+
+    /**
+     * Updates the resolution counts for a status change.
+     *
+     * @param oldResolvedAt When the feedback was last resolved before the change, or null.
+     * @param newResolvedAt When it was resolved by this change, or null.
+     */
+    public void recordStatusChange(LocalDateTime createdAt, String category, String oldStatus,
+                                   LocalDateTime oldResolvedAt, String newStatus, LocalDateTime newResolvedAt) {
+        Map<String, RollupDelta> deltas = new HashMap<>();
+        addStatusChange(deltas, createdAt, category, oldStatus, oldResolvedAt, newStatus, newResolvedAt);
+        applyDeltas(deltas);
+    }
+
+    public static void addSubmitted(Map<String, RollupDelta> deltas, LocalDateTime createdAt,
+                                    String category, int rating) {
+        RollupDelta delta = deltaFor(deltas, createdAt.toLocalDate(), category);
+        delta.submissions++;
+        delta.ratingSum += rating;
+        delta.ratingHistogram.merge(String.valueOf(rating), 1L, Long::sum);
+    }
+
+    /**
+     * Moving away from "resolved" takes the old resolution out of its day's bucket;
+     * moving to it adds the new one.
+     */
+    public static void addStatusChange(Map<String, RollupDelta> deltas, LocalDateTime createdAt, String category,
+                                       String oldStatus, LocalDateTime oldResolvedAt,
+                                       String newStatus, LocalDateTime newResolvedAt) {
+        if (createdAt == null || Objects.equals(oldStatus, newStatus)) {
+            return;
+        }
+        if (RESOLVED.equals(oldStatus) && oldResolvedAt != null) {
+            addResolution(deltas, createdAt, oldResolvedAt, category, -1);
+        }
+        if (RESOLVED.equals(newStatus) && newResolvedAt != null) {
+            addResolution(deltas, createdAt, newResolvedAt, category, 1);
+        }
+    }
+
+    private static void addResolution(Map<String, RollupDelta> deltas, LocalDateTime createdAt,
+                                      LocalDateTime resolvedAt, String category, int sign) {
+        long minutes = Math.max(0, Duration.between(createdAt, resolvedAt).toMinutes());
+        RollupDelta delta = deltaFor(deltas, resolvedAt.toLocalDate(), category);
+        delta.resolved += sign;
+        delta.resolutionMinutesSum += sign * minutes;
+        delta.resolutionHistogram.merge(String.valueOf(bucketOf(minutes)), (long) sign, Long::sum);
+    }
+
+    /**
+     * Writes a set of bucket deltas with one unordered bulk of upserting $inc updates.
+     */
+    public void applyDeltas(Map<String, RollupDelta> deltas) {
+        if (!enabled || deltas.isEmpty()) {
+            return;
+        }
+        bulkUpserter.upsertAll(FeedbackRollup.class, toUpserts(deltas));
+    }
+
+    /**
+     * Turns bucket deltas into upserting $inc updates, one per bucket.
+     */
+    public static List<Pair<Query, Update>> toUpserts(Map<String, RollupDelta> deltas) {
+        List<Pair<Query, Update>> upserts = new ArrayList<>();
+        for (Map.Entry<String, RollupDelta> entry : deltas.entrySet()) {
+            RollupDelta delta = entry.getValue();
+            Update update = new Update()
+                    .setOnInsert("day", delta.day)
+                    .setOnInsert("category", delta.category);
+            incIfNonZero(update, "submissions", delta.submissions);
+            incIfNonZero(update, "ratingSum", delta.ratingSum);
+            incIfNonZero(update, "resolved", delta.resolved);
+            incIfNonZero(update, "resolutionMinutesSum", delta.resolutionMinutesSum);
+            delta.ratingHistogram.forEach((stars, count) -> update.inc("ratingHistogram." + stars, count));
+            delta.resolutionHistogram.forEach((bucket, count) -> update.inc("resolutionHistogram." + bucket, count));
+
+            upserts.add(Pair.of(Query.query(Criteria.where("_id").is(entry.getKey())), update));
+        }
+        return upserts;
+    }
+
+    /**
+     * Submissions and average rating per day or per week (weeks start on Monday).
+     */
+    public List<TrendPointDTO> getSubmissionTrend(LocalDate from, LocalDate to, String category, boolean weekly) {
+        Map<String, long[]> periods = new TreeMap<>(); // period -> {submissions, ratingSum}
+        for (FeedbackRollup rollup : findRollups(from, to, category)) {
+            LocalDate day = LocalDate.parse(rollup.getDay());
+            LocalDate period = weekly ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+            long[] totals = periods.computeIfAbsent(period.toString(), p -> new long[2]);
+            totals[0] += rollup.getSubmissions();
+            totals[1] += rollup.getRatingSum();
+        }
+
+        List<TrendPointDTO> trend = new ArrayList<>();
+        periods.forEach((period, totals) -> {
+            if (totals[0] > 0) {
+                trend.add(new TrendPointDTO(period, totals[0], (double) totals[1] / totals[0]));
+            }
+        });
+        return trend;
+    }
+
+    /**
+     * Rating distribution (1-5 stars) and mean rating per category.
+     */
+    public List<RatingDistributionDTO> getRatingDistributions(LocalDate from, LocalDate to) {
+        Map<String, RatingDistributionDTO> byCategory = new TreeMap<>();
+        for (FeedbackRollup rollup : findRollups(from, to, null)) {
+            if (rollup.getSubmissions() == 0) {
+                continue;
+            }
+            RatingDistributionDTO distribution = byCategory.computeIfAbsent(rollup.getCategory(),
+                    category -> new RatingDistributionDTO(category, 0, 0, emptyRatingHistogram()));
+            distribution.setCount(distribution.getCount() + rollup.getSubmissions());
+            // Temporarily holds the rating sum; turned into the average below
+            distribution.setAverageRating(distribution.getAverageRating() + rollup.getRatingSum());
+            if (rollup.getRatingHistogram() != null) {
+                rollup.getRatingHistogram().forEach((stars, count) ->
+                        distribution.getHistogram().merge(Integer.valueOf(stars), count, Long::sum));
+            }
+        }
+
+        byCategory.values().forEach(distribution ->
+                distribution.setAverageRating(distribution.getAverageRating() / distribution.getCount()));
+        return new ArrayList<>(byCategory.values());
+    }
+
+    /**
+     * Time-to-resolution mean and percentiles for feedback resolved in the given period.
+     */
+    public ResolutionTimeDTO getResolutionTimes(LocalDate from, LocalDate to, String category) {
+        long resolved = 0;
+        long minutesSum = 0;
+        Map<Integer, Long> histogram = new TreeMap<>();
+        for (FeedbackRollup rollup : findRollups(from, to, category)) {
+            resolved += rollup.getResolved();
+            minutesSum += rollup.getResolutionMinutesSum();
+            if (rollup.getResolutionHistogram() != null) {
+                rollup.getResolutionHistogram().forEach((bucket, count) ->
+                        histogram.merge(Integer.valueOf(bucket), count, Long::sum));
+            }
+        }
+
+        if (resolved == 0) {
+            return new ResolutionTimeDTO(0, 0, 0, 0, 0);
+        }
+        return new ResolutionTimeDTO(
+                resolved,
+                minutesSum / 60.0 / resolved,
+                percentileHours(histogram, resolved, 0.50),
+                percentileHours(histogram, resolved, 0.90),
+                percentileHours(histogram, resolved, 0.99));
+    }
+
+    /**
+     * Recomputes all rollups from the feedback collection.
+     * <p>
+     * Runs at most once at a time across all instances (a {@link MongoLease}). Feedback is
+     * streamed in batches and only the (small) per-bucket totals are kept in memory; they are
+     * written as absolute values into a staging collection, which then replaces the live one
+     * in a single rename, so readers never see half a rebuild. Increments applied to the old
+     * collection while the feedback was being read go away with it, so afterwards the days
+     * since the rebuild started are counted again. A reopen during the rebuild of feedback
+     * resolved on an earlier day can still leave that day off by one until the next rebuild.
+     *
+     * @return false if a rebuild is already running here or on another instance.
+     */
+    public boolean rebuild() {
+        if (!enabled) {
+            return true;
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            if (!rebuildLease.tryAcquire()) {
+                return false;
+            }
+            try {
+                rebuildUnderLease();
+            } finally {
+                rebuildLease.release();
+            }
+            initialised.set(true);
+            return true;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Starts a rebuild on a background thread, unless one is already running.
+     */
+    public void rebuildInBackground() {
+        if (!enabled || rebuilding.get()) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                logger.error("Could not rebuild feedback rollups", ex);
+            }
+        });
+    }
+
+    /**
+     * On a fresh deployment the rollups have never been built from the existing feedback;
+     * start that as soon as the application is up rather than on the first trends request.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                ensureInitialised();
+            } catch (Exception ex) {
+                logger.error("Could not check the feedback rollups: {}", ex.getMessage());
+            }
+        });
+    }
+
+    private void rebuildUnderLease() {
+        // Days from here on may get increments the streamed totals miss; they are recounted at the end
+        LocalDate firstLiveDay = LocalDate.now();
+
+        Query query = new Query().cursorBatchSize(rebuildBatchSize);
+        query.fields().include("createdAt", "category", "rating", "status", "resolutionLog.timestamp");
+
+        Map<String, RollupDelta> totals = new HashMap<>();
+        long[] streamed = {0};
+        long[] renewAt = {System.currentTimeMillis() + rebuildLeaseMs / 3};
+        try (Stream<Feedback> feedbackStream = mongoTemplate.stream(query, Feedback.class)) {
+            feedbackStream.forEach(feedback -> {
+                addFeedback(totals, feedback, null);
+                if (++streamed[0] % rebuildBatchSize == 0 && System.currentTimeMillis() > renewAt[0]) {
+                    renewRebuildLease();
+                    renewAt[0] = System.currentTimeMillis() + rebuildLeaseMs / 3;
+                }
+            });
+        }
+        renewRebuildLease();
+
+        // Build the new collection next to the live one, then swap it in
+        mongoTemplate.dropCollection(STAGING_COLLECTION);
+        IndexOperations stagingIndexes = mongoTemplate.indexOps(STAGING_COLLECTION);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(FeedbackRollup.class)
+                .forEach(stagingIndexes::createIndex);
+
+        List<FeedbackRollup> rollups = new ArrayList<>();
+        totals.forEach((id, bucket) -> rollups.add(toRollup(id, bucket)));
+        FeedbackRollup marker = new FeedbackRollup();
+        marker.setId(REBUILT_MARKER_ID);
+        marker.setCategory("meta");
+        rollups.add(marker);
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, FeedbackRollup.class, STAGING_COLLECTION)
+                .insert(rollups)
+                .execute();
+
+        mongoTemplate.getCollection(STAGING_COLLECTION).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), mongoTemplate.getCollectionName(FeedbackRollup.class)),
+                new RenameCollectionOptions().dropTarget(true));
+
+        int recounted = recountDaysFrom(firstLiveDay);
+        logger.info("Rebuilt feedback rollups: {} buckets ({} recounted since {})", totals.size(), recounted, firstLiveDay);
+    }
+
+    /**
+     * Overwrites the buckets of the given day and every later day with their totals
+     * recounted from the feedback collection.
+     *
+     * @return The number of buckets written.
+     */
+    private int recountDaysFrom(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        Query query = Query.query(new Criteria().orOperator(
+                Criteria.where("createdAt").gte(from),
+                Criteria.where("resolutionLog.timestamp").gte(from)));
+        query.fields().include("createdAt", "category", "rating", "status", "resolutionLog.timestamp");
+
+        Map<String, RollupDelta> totals = new HashMap<>();
+        try (Stream<Feedback> feedbackStream = mongoTemplate.stream(query, Feedback.class)) {
+            feedbackStream.forEach(feedback -> addFeedback(totals, feedback, from));
+        }
+        totals.forEach((id, bucket) -> mongoTemplate.save(toRollup(id, bucket)));
+        return totals.size();
+    }
+
+    private void renewRebuildLease() {
+        if (!rebuildLease.tryAcquire()) {
+            // Another instance took over after our lease ran out; two swaps must not race
+            throw new IllegalStateException("Lost the rollup rebuild lease; rebuild abandoned");
+        }
+    }
+
+    /**
+     * Adds one feedback's submission and, if it is resolved now, its latest resolution to
+     * the totals, counting only what happened at or after {@code since} (everything when it is null).
+     */
+    private static void addFeedback(Map<String, RollupDelta> totals, Feedback feedback, LocalDateTime since) {
+        if (feedback.getCreatedAt() == null) {
+            return;
+        }
+        if (since == null || !feedback.getCreatedAt().isBefore(since)) {
+            addSubmitted(totals, feedback.getCreatedAt(), feedback.getCategory(), feedback.getRating());
+        }
+        // Reopened feedback keeps its resolutionLog, but no longer counts as resolved
+        LocalDateTime resolvedAt = feedback.getResolutionLog() != null ? feedback.getResolutionLog().getTimestamp() : null;
+        if (RESOLVED.equals(feedback.getStatus()) && resolvedAt != null
+                && (since == null || !resolvedAt.isBefore(since))) {
+            addResolution(totals, feedback.getCreatedAt(), resolvedAt, feedback.getCategory(), 1);
+        }
+    }
+
+    private static FeedbackRollup toRollup(String id, RollupDelta bucket) {
+        return new FeedbackRollup(id, bucket.day, bucket.category,
+                bucket.submissions, bucket.ratingSum, bucket.ratingHistogram,
+                bucket.resolved, bucket.resolutionMinutesSum, bucket.resolutionHistogram);
+    }
+
+    private List<FeedbackRollup> findRollups(LocalDate from, LocalDate to, String category) {
+        ensureInitialised();
+
+        Criteria criteria = Criteria.where("day").gte(from.toString()).lte(to.toString());
+        if (category != null) {
+            criteria.and("category").is(category);
+        }
+        return mongoTemplate.find(Query.query(criteria), FeedbackRollup.class);
+    }
+
+    /**
+     * Never rebuilds on the calling (request) thread: until the first rebuild has finished,
+     * readers get whatever the collection holds.
+     */
+    private void ensureInitialised() {
+        if (initialised.get()) {
+            return;
+        }
+        if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(REBUILT_MARKER_ID)), FeedbackRollup.class)) {
+            initialised.set(true);
+        } else {
+            rebuildInBackground();
+        }
+    }
+
+    private static RollupDelta deltaFor(Map<String, RollupDelta> deltas, LocalDate day, String category) {
+        String dayKey = day.toString();
+        return deltas.computeIfAbsent(FeedbackRollup.idOf(dayKey, category), id -> new RollupDelta(dayKey, category));
+    }
+
+    private static void incIfNonZero(Update update, String field, long amount) {
+        if (amount != 0) {
+            update.inc(field, amount);
+        }
+    }
+
+    static int bucketOf(long minutes) {
+        return (int) Math.floor(Math.log1p(minutes) / Math.log(BUCKET_BASE));
+    }
+
+    /**
+     * Walks the histogram up to the requested rank and returns the geometric
+     * middle of the bucket it falls in.
+     */
+    private static double percentileHours(Map<Integer, Long> histogram, long total, double percentile) {
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : histogram.entrySet()) {
+            seen += bucket.getValue();
+            if (seen >= rank) {
+                double lower = Math.pow(BUCKET_BASE, bucket.getKey());
+                double upper = Math.pow(BUCKET_BASE, bucket.getKey() + 1);
+                return (Math.sqrt(lower * upper) - 1) / 60.0;
+            }
+        }
+        return 0;
+    }
+
+    private static Map<Integer, Long> emptyRatingHistogram() {
+        Map<Integer, Long> histogram = new TreeMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            histogram.put(stars, 0L);
+        }
+        return histogram;
+    }
+
+    /**
+     * Pending changes to one day/category bucket.
+     */
+    public static class RollupDelta {
+        private final String day;
+        private final String category;
+        private long submissions;
+        private long ratingSum;
+        private long resolved;
+        private long resolutionMinutesSum;
+        private final Map<String, Long> ratingHistogram = new HashMap<>();
+        private final Map<String, Long> resolutionHistogram = new HashMap<>();
+
+        private RollupDelta(String day, String category) {
+            this.day = day;
+            this.category = category;
+        }
+    }
+}
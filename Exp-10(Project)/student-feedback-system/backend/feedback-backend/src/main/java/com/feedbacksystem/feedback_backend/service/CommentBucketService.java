@@ -0,0 +1,114 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.ThreadPageDTO;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.CommentBucket;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps long feedback threads small by moving older comments into comment buckets.
+ * <p>
+ * With bucketing enabled, a Feedback keeps at most inline-limit + bucket-size comments inline.
+ * Once it reaches that, the oldest bucket-size comments are copied into a new CommentBucket page
+ * and then trimmed from the document. The copy is idempotent ($setOnInsert) and the trim is
+ * conditional on archivedComments, so concurrent replies and crashes between the two steps
+ * never lose or duplicate a comment.
+ */
+@Service
+public class CommentBucketService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Value("${feedback.thread.bucketing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${feedback.thread.inline-limit:50}")
+    private int inlineLimit;
+
+    @Value("${feedback.thread.bucket-size:100}")
+    private int bucketSize;
+
+    /**
+     * Moves full pages of the oldest inline comments into buckets, if the thread has grown
+     * past the inline limit. Updates and returns the given feedback to match the stored state.
+     *
+     * @param feedback The feedback as it is stored right now (e.g. just after a reply).
+     */
+    public Feedback archiveOverflow(Feedback feedback) {
+        if (!enabled || feedback.getThread() == null) {
+            return feedback;
+        }
+
+        while (feedback.getThread().size() >= inlineLimit + bucketSize) {
+            int archived = feedback.getArchivedComments();
+            int page = archived / bucketSize;
+            List<Comment> oldest = new ArrayList<>(feedback.getThread().subList(0, bucketSize));
+
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("_id").is(CommentBucket.idOf(feedback.getId(), page))),
+                    new Update()
+                            .setOnInsert("feedbackId", feedback.getId())
+                            .setOnInsert("page", page)
+                            .setOnInsert("comments", oldest),
+                    CommentBucket.class);
+
+            if (!feedbackRepository.archiveOldestComments(feedback.getId(), bucketSize, archived)) {
+                // Another request archived this page first; its result is what is stored now
+                break;
+            }
+            feedback.setThread(new ArrayList<>(feedback.getThread().subList(bucketSize, feedback.getThread().size())));
+            feedback.setArchivedComments(archived + bucketSize);
+        }
+        return feedback;
+    }
+
+    /**
+     * Whether a thread with this many inline comments is due to have a page archived.
+     */
+    public boolean needsArchiving(int inlineComments) {
+        return enabled && inlineComments >= inlineLimit + bucketSize;
+    }
+
+    /**
+     * Gets one page of a feedback's archived comments.
+     *
+     * @param feedbackId The feedback whose history to read.
+     * @param page       The page to read, or null for the newest archived page.
+     */
+    public ThreadPageDTO getArchivedPage(String feedbackId, Integer page) {
+        Feedback feedback = feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + feedbackId));
+
+        // Only pages that were trimmed from the thread count; a page whose trim
+        // never happened (e.g. a crash in between) is still inline and is skipped
+        int pages = feedback.getArchivedComments() / bucketSize;
+        if (pages == 0) {
+            return new ThreadPageDTO(0, Collections.emptyList(), null);
+        }
+
+        int requested = (page == null) ? pages - 1 : page;
+        if (requested < 0 || requested >= pages) {
+            throw new IllegalArgumentException("Thread page " + requested + " does not exist");
+        }
+
+        CommentBucket bucket = mongoTemplate.findById(CommentBucket.idOf(feedbackId, requested), CommentBucket.class);
+        List<Comment> comments = (bucket != null) ? bucket.getComments() : Collections.emptyList();
+        return new ThreadPageDTO(requested, comments, requested > 0 ? requested - 1 : null);
+    }
+}
@@ -1,46 +1,100 @@
 package com.feedbacksystem.feedback_backend.service;
 
+import com.feedbacksystem.feedback_backend.cache.ExpiringLruCache;
 import com.feedbacksystem.feedback_backend.model.User;
 import com.feedbacksystem.feedback_backend.repository.UserRepository;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.Map;
 
 /**
  * Service to load user details for Spring Security.
+ * Loaded principals are kept in a small TTL cache (keyed by email) so the
+ * JWT filter does not have to query MongoDB on every authenticated request.
+ * It also stores upgraded password hashes after a login (rehash-on-login).
  */
 @Service // Marks this as a Spring service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired // Asks Spring to give us the UserRepository
     private UserRepository userRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ExpiringLruCache<String, UserPrincipal> principalCache;
+
+    public CustomUserDetailsService(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                                    @Value("${security.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.principalCache = new ExpiringLruCache<>(maxSize, ttlMs);
+    }
+
     /**
      * This method is called by Spring Security when a user tries to authenticate.
+     * UserPrincipal is immutable, so the cached instance is handed out directly.
+     */
+    @Override
+    public UserPrincipal loadUserByUsername(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, this::loadFromDatabase);
+    }
+
+    /**
+     * Called by Spring Security after a successful login whose stored hash was made at a
+     * lower BCrypt strength than the current one, with the password hashed again.
+     * Only replaces the hash the login was checked against, so a password changed
+     * meanwhile is never overwritten.
      */
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // 1. Find the user by email using our repository
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("email").is(user.getUsername()).and("password").is(user.getPassword())),
+                new Update().set("password", newPassword).currentDate("modifiedAt"),
+                User.class);
+        evictUser(user.getUsername());
+
+        UserPrincipal principal = (UserPrincipal) user;
+        return new UserPrincipal(principal.getId(), principal.getName(), principal.getEmail(), newPassword,
+                principal.getRole(), principal.getTokenVersion());
+    }
+
+    /**
+     * Drops a user's cached principal. Must be called whenever a user's
+     * role, password or token version changes so the next request sees the new values.
+     */
+    public void evictUser(String email) {
+        principalCache.invalidate(email);
+    }
+
+    /**
+     * Drops every cached principal, e.g. when user changes may have been missed.
+     */
+    public void evictAll() {
+        principalCache.invalidateAll();
+    }
+
+    /**
+     * Hit/miss/eviction counters of the principal cache.
+     */
+    public Map<String, Long> getCacheStats() {
+        return principalCache.stats();
+    }
+
+    private UserPrincipal loadFromDatabase(String email) {
+        // Find the user by email and wrap it (with its role) in our principal
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        // 2. Get the user's role (e.g., ROLE_STUDENT)
-        List<GrantedAuthority> authorities = Collections.singletonList(
-                new SimpleGrantedAuthority(user.getRole().name())
-        );
-
-        // 3. Return a Spring Security User object
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                authorities
-        );
+        return UserPrincipal.fromUser(user);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.BulkReplyDTO;
+import com.feedbacksystem.feedback_backend.dto.BulkResultDTO;
+import com.feedbacksystem.feedback_backend.dto.BulkStatusDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackBulkTargetDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.FeedbackCounter;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk admin operations: changing the status of, or replying to, many feedback items at once.
+ * <p>
+ * The items are selected with one query, changed with one unordered bulk write (each update
+ * still guarded by the version it was read at, like the single-item endpoints), and the
+ * analytics counters and rollups are updated once for the whole operation.
+ */
+@Service
+public class FeedbackBulkService {
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private AnalyticsCounterService analyticsCounterService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private CommentBucketService commentBucketService;
+
+    @Autowired
+    private AdminEventService adminEventService;
+
+    // Upper bound on the items one bulk request may touch
+    @Value("${feedback.bulk.max-items:1000}")
+    private int maxItems;
+
+    /**
+     * Sets the status of every selected feedback that does not have it yet.
+     *
+     * @throws IllegalArgumentException if neither ids nor a filter is given, or more than
+     *                                  feedback.bulk.max-items are selected (nothing is changed then).
+     */
+    public BulkResultDTO updateStatus(BulkStatusDTO request, String adminUserId) {
+        String newStatus = request.getStatus();
+        Selection selection = select(request.getIds(), request.getFilter());
+
+        List<FeedbackBulkTargetDTO> toUpdate = new ArrayList<>();
+        for (FeedbackBulkTargetDTO target : selection.targets) {
+            if (newStatus.equals(target.getStatus())) {
+                selection.record(target, BulkResultDTO.UNCHANGED, target.getVersion());
+            } else {
+                toUpdate.add(target);
+            }
+        }
+        if (toUpdate.isEmpty()) {
+            return selection.result();
+        }
+
+        ResolutionLog resolutionLog = "resolved".equals(newStatus)
+                ? new ResolutionLog(adminUserId, null, LocalDateTime.now())
+                : null;
+        Set<String> updated = feedbackRepository.bulkSetStatus(toUpdate, newStatus, resolutionLog);
+
+        Map<String, Long> counterDeltas = new LinkedHashMap<>();
+        Map<String, AnalyticsRollupService.RollupDelta> rollupDeltas = new HashMap<>();
+        for (FeedbackBulkTargetDTO target : toUpdate) {
+            if (!selection.recordWrite(target, updated)) {
+                continue;
+            }
+            AnalyticsCounterService.addDelta(counterDeltas, FeedbackCounter.STATUS, target.getStatus(), -1);
+            AnalyticsCounterService.addDelta(counterDeltas, FeedbackCounter.STATUS, newStatus, 1);
+            adminEventService.statusChanged(target.getId(), target.getStatus(), newStatus, nextVersion(target));
+            AnalyticsRollupService.addStatusChange(rollupDeltas, target.getCreatedAt(), target.getCategory(),
+                    target.getStatus(), target.getResolvedAt(),
+                    newStatus, (resolutionLog != null) ? resolutionLog.getTimestamp() : null);
+        }
+        analyticsCounterService.applyDeltas(counterDeltas);
+        analyticsRollupService.applyDeltas(rollupDeltas);
+        return selection.result();
+    }
+
+    /**
+     * Posts a reply to every selected feedback. Placeholders in the content are filled in
+     * per feedback, and open feedback moves to in_progress, as with a single reply.
+     *
+     * @throws IllegalArgumentException for the same invalid selections as updateStatus.
+     */
+    public BulkResultDTO postReply(BulkReplyDTO request, String adminUserId) {
+        Selection selection = select(request.getIds(), request.getFilter());
+        if (selection.targets.isEmpty()) {
+            return selection.result();
+        }
+
+        // One timestamp for the whole operation; it also identifies its comments afterwards
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Comment> comments = new HashMap<>();
+        for (FeedbackBulkTargetDTO target : selection.targets) {
+            comments.put(target.getId(), new Comment(adminUserId, render(request.getContent(), target), now));
+        }
+        Set<String> updated = feedbackRepository.bulkPushReplies(selection.targets, comments);
+
+        Map<String, Long> counterDeltas = new LinkedHashMap<>();
+        for (FeedbackBulkTargetDTO target : selection.targets) {
+            if (!selection.recordWrite(target, updated)) {
+                continue;
+            }
+            String status = target.getStatus();
+            if ("open".equals(status)) {
+                status = "in_progress";
+                AnalyticsCounterService.addDelta(counterDeltas, FeedbackCounter.STATUS, "open", -1);
+                AnalyticsCounterService.addDelta(counterDeltas, FeedbackCounter.STATUS, "in_progress", 1);
+            }
+            adminEventService.replyPosted(target.getId(), target.getStatus(), status, nextVersion(target), now);
+            // Long threads keep only their newest comments inline (if bucketing is enabled)
+            if (commentBucketService.needsArchiving(target.getInlineComments() + 1)) {
+                feedbackRepository.findById(target.getId()).ifPresent(commentBucketService::archiveOverflow);
+            }
+        }
+        analyticsCounterService.applyDeltas(counterDeltas);
+        return selection.result();
+    }
+
+    /**
+     * Fills in the {category}, {rating} and {submittedOn} placeholders of a reply template.
+     */
+    static String render(String template, FeedbackBulkTargetDTO target) {
+        return template
+                .replace("{category}", String.valueOf(target.getCategory()))
+                .replace("{rating}", String.valueOf(target.getRating()))
+                .replace("{submittedOn}", target.getCreatedAt() != null ? target.getCreatedAt().toLocalDate().toString() : "");
+    }
+
+    // Documents saved before versioning start counting from 0 on their first update
+    private static Long nextVersion(FeedbackBulkTargetDTO target) {
+        return (target.getVersion() == null) ? 1L : target.getVersion() + 1;
+    }
+
+    private Selection select(List<String> ids, FeedbackSearchCriteria filter) {
+        if (ids == null && filter == null) {
+            throw new IllegalArgumentException("Either ids or a filter is required");
+        }
+        Set<String> requestedIds = (ids != null) ? new LinkedHashSet<>(ids) : null;
+        if (requestedIds != null && requestedIds.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " feedback items can be changed at once");
+        }
+
+        // Fetch one extra item to find out whether the filter matches too many
+        List<FeedbackBulkTargetDTO> targets = feedbackRepository.findBulkTargets(requestedIds, filter, maxItems + 1);
+        if (targets.size() > maxItems) {
+            throw new IllegalArgumentException("The filter matches more than " + maxItems
+                    + " feedback items; please narrow it");
+        }
+        return new Selection(requestedIds, targets);
+    }
+
+    /**
+     * The selected targets and the per-item results collected so far.
+     * Results are listed in the order of the requested ids, or newest first for a filter.
+     */
+    private static class Selection {
+        private final List<FeedbackBulkTargetDTO> targets;
+        private final Map<String, BulkResultDTO.ItemResult> results = new LinkedHashMap<>();
+
+        Selection(Set<String> requestedIds, List<FeedbackBulkTargetDTO> targets) {
+            this.targets = targets;
+            if (requestedIds != null) {
+                requestedIds.forEach(id -> results.put(id, new BulkResultDTO.ItemResult(id, BulkResultDTO.NOT_FOUND, null)));
+            }
+            // Reserve each target's place; its result is recorded once it is known
+            targets.forEach(target -> results.put(target.getId(), null));
+        }
+
+        void record(FeedbackBulkTargetDTO target, String result, Long version) {
+            results.put(target.getId(), new BulkResultDTO.ItemResult(target.getId(), result, version));
+        }
+
+        /**
+         * Records the outcome of a target's write; returns true if it was updated.
+         */
+        boolean recordWrite(FeedbackBulkTargetDTO target, Set<String> updated) {
+            if (updated.contains(target.getId())) {
+                record(target, BulkResultDTO.UPDATED, nextVersion(target));
+                return true;
+            }
+            record(target, BulkResultDTO.CONFLICT, target.getVersion());
+            return false;
+        }
+
+        BulkResultDTO result() {
+            BulkResultDTO result = new BulkResultDTO();
+            results.values().forEach(result::add);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.feedbacksystem.feedback_backend.dto.FeedbackImportRowDTO;
+import com.feedbacksystem.feedback_backend.dto.ImportReportDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports historic feedback in bulk from NDJSON or CSV uploads.
+ * <p>
+ * The upload is read as a stream, one row at a time. Valid rows are collected into
+ * batches that are written with one unordered bulk insert each, so memory use is bounded
+ * by the batch size and one bad document never stops the rest of its batch.
+ * The analytics counters and rollups are updated once per batch.
+ */
+@Service
+public class FeedbackImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackImportService.class);
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AnalyticsCounterService analyticsCounterService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${feedback.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${feedback.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Imports one JSON object per line. Blank lines are skipped.
+     */
+    public ImportReportDTO importNdjson(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.add(row, objectMapper.readValue(line, FeedbackImportRowDTO.class));
+            } catch (JsonProcessingException ex) {
+                run.reject(row, "Invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Imports CSV with a header row naming the columns (content, rating, category,
+     * isAnonymous, studentEmail, status, createdAt). Empty cells count as missing.
+     */
+    public ImportReportDTO importCsv(InputStream input) throws IOException {
+        ImportRun run = new ImportRun();
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+
+        long row = 0;
+        try (MappingIterator<Map<String, String>> records = CSV_MAPPER.readerForMapOf(String.class)
+                .with(schema)
+                .readValues(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            while (records.hasNextValue()) {
+                row++;
+                Map<String, String> record = new HashMap<>(records.nextValue());
+                record.values().removeIf(value -> value == null || value.isBlank());
+                try {
+                    run.add(row, objectMapper.convertValue(record, FeedbackImportRowDTO.class));
+                } catch (IllegalArgumentException ex) {
+                    run.reject(row, "Invalid value: " + rootMessage(ex));
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            // Broken quoting: the rest of the file cannot be split into records reliably
+            run.reject(row + 1, "Malformed CSV, import stopped here: " + ex.getOriginalMessage());
+        }
+        return run.finish();
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return (cause instanceof JsonProcessingException json) ? json.getOriginalMessage() : cause.getMessage();
+    }
+
+    /**
+     * The state of one import: the pending batch and the running totals.
+     */
+    private class ImportRun {
+
+        private final long startedAt = System.nanoTime();
+        private final ImportReportDTO report = new ImportReportDTO();
+        private final List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        void add(long row, FeedbackImportRowDTO dto) {
+            report.setReceived(report.getReceived() + 1);
+
+            Set<ConstraintViolation<FeedbackImportRowDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                rejectReceived(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            if (!Boolean.TRUE.equals(dto.getIsAnonymous()) && !StringUtils.hasText(dto.getStudentEmail())) {
+                rejectReceived(row, "Student email is required unless the feedback is anonymous");
+                return;
+            }
+
+            batch.add(new PendingRow(row, dto));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // For rows that could not even be parsed
+        void reject(long row, String message) {
+            report.setReceived(report.getReceived() + 1);
+            rejectReceived(row, message);
+        }
+
+        private void rejectReceived(long row, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new ImportReportDTO.RowError(row, message));
+            }
+        }
+
+        /**
+         * Writes the pending batch: resolves all student emails with one query,
+         * inserts with one unordered bulk write, then applies the analytics deltas once.
+         */
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Set<String> emails = new HashSet<>();
+            batch.forEach(pending -> {
+                if (StringUtils.hasText(pending.dto.getStudentEmail())) {
+                    emails.add(pending.dto.getStudentEmail());
+                }
+            });
+            Map<String, String> studentIds = userRepository.findByEmailIn(emails).stream()
+                    .collect(Collectors.toMap(User::getEmail, User::getId));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingRow> rows = new ArrayList<>(batch.size());
+            List<Feedback> documents = new ArrayList<>(batch.size());
+            for (PendingRow pending : batch) {
+                FeedbackImportRowDTO dto = pending.dto;
+                String studentId = null;
+                if (StringUtils.hasText(dto.getStudentEmail())) {
+                    studentId = studentIds.get(dto.getStudentEmail());
+                    if (studentId == null) {
+                        rejectReceived(pending.row, "No student with email " + dto.getStudentEmail());
+                        continue;
+                    }
+                }
+                rows.add(pending);
+                documents.add(Feedback.builder()
+                        .studentId(studentId)
+                        .isAnonymous(dto.getIsAnonymous())
+                        .content(dto.getContent())
+                        .rating(dto.getRating())
+                        .category(dto.getCategory())
+                        .status(dto.getStatus() != null ? dto.getStatus() : "open")
+                        .createdAt(dto.getCreatedAt() != null ? dto.getCreatedAt() : now)
+                        .thread(new ArrayList<>())
+                        .version(0L)
+                        .build());
+            }
+            batch.clear();
+
+            // Unordered: a failing document does not stop the others in its batch
+            Set<Integer> failedIndexes = new HashSet<>();
+            if (!documents.isEmpty()) {
+                try {
+                    mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Feedback.class)
+                            .insert(documents)
+                            .execute();
+                } catch (BulkOperationException ex) {
+                    ex.getErrors().forEach(error -> {
+                        failedIndexes.add(error.getIndex());
+                        rejectReceived(rows.get(error.getIndex()).row, "Could not be stored: " + error.getMessage());
+                    });
+                }
+            }
+
+            Map<String, Long> counterDeltas = new LinkedHashMap<>();
+            Map<String, AnalyticsRollupService.RollupDelta> rollupDeltas = new HashMap<>();
+            for (int i = 0; i < documents.size(); i++) {
+                if (failedIndexes.contains(i)) {
+                    continue;
+                }
+                Feedback feedback = documents.get(i);
+                AnalyticsCounterService.addSubmittedDeltas(counterDeltas,
+                        feedback.getStatus(), feedback.getCategory(), feedback.getRating());
+                AnalyticsRollupService.addSubmitted(rollupDeltas,
+                        feedback.getCreatedAt(), feedback.getCategory(), feedback.getRating());
+                report.setImported(report.getImported() + 1);
+            }
+            analyticsCounterService.applyDeltas(counterDeltas);
+            analyticsRollupService.applyDeltas(rollupDeltas);
+        }
+
+        ImportReportDTO finish() {
+            flush();
+
+            long elapsedNanos = System.nanoTime() - startedAt;
+            report.setDurationMs(elapsedNanos / 1_000_000);
+            report.setDocsPerSecond(elapsedNanos > 0 ? report.getImported() * 1e9 / elapsedNanos : 0);
+            logger.info("Imported {} of {} feedback rows in {} ms ({} docs/s)", report.getImported(),
+                    report.getReceived(), report.getDurationMs(), Math.round(report.getDocsPerSecond()));
+            return report;
+        }
+    }
+
+    private record PendingRow(long row, FeedbackImportRowDTO dto) {
+    }
+}
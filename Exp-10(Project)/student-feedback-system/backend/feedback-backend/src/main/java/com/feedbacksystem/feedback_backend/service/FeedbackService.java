@@ -1,23 +1,41 @@
 package com.feedbacksystem.feedback_backend.service;
 
-import com.feedbacksystem.feedback_backend.dto.AnalyticsDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.feedbacksystem.feedback_backend.cache.SingleFlightCache;
+import com.feedbacksystem.feedback_backend.dto.CursorPageDTO;
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminSummaryDTO;
 import com.feedbacksystem.feedback_backend.dto.FeedbackAdminViewDTO;
 import com.feedbacksystem.feedback_backend.dto.FeedbackRequestDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
 import com.feedbacksystem.feedback_backend.dto.ReplyDTO;
+import com.feedbacksystem.feedback_backend.dto.SearchPageDTO;
+import com.feedbacksystem.feedback_backend.exception.FeedbackConflictException;
+import com.feedbacksystem.feedback_backend.ingest.SubmissionIngestService;
 import com.feedbacksystem.feedback_backend.model.Comment;
 import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
 import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.repository.FeedbackQueries;
 import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
 import com.feedbacksystem.feedback_backend.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class FeedbackService {
@@ -28,8 +46,52 @@ public class FeedbackService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AnalyticsCounterService analyticsCounterService;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private CommentBucketService commentBucketService;
+
+    @Autowired
+    private SubmissionIngestService submissionIngestService;
+
+    @Autowired
+    private AdminEventService adminEventService;
+
+    private static final String DASHBOARD_CACHE_KEY = "dashboard";
+
+    private final SingleFlightCache<String, DashboardAnalyticsDTO> dashboardCache;
+
+    public FeedbackService(@Value("${feedback.analytics.cache-ttl-ms:5000}") long dashboardCacheTtlMs) {
+        this.dashboardCache = new SingleFlightCache<>(dashboardCacheTtlMs);
+    }
+
+    @Value("${feedback.admin.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${feedback.admin.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${feedback.admin.stream-batch-size:500}")
+    private int streamBatchSize;
+
+    @Value("${feedback.search.page-size:20}")
+    private int searchPageSize;
+
+    // Search pages are offset-based, so deep pages get slower; this caps how deep one can go
+    @Value("${feedback.search.max-results:1000}")
+    private int searchMaxResults;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Creates and saves a new feedback submission. (Module 2)
+     * With feedback.ingest.async.enabled it is only queued; the returned feedback
+     * already has its id but may not be stored yet.
      */
     public Feedback submitFeedback(FeedbackRequestDTO requestDTO, String studentId) {
 
@@ -45,56 +107,171 @@ public class FeedbackService {
                 .resolutionLog(null) // No resolution yet
                 .build();
 
-        return feedbackRepository.save(feedback);
+        // In async ingest mode the document is written (and counted) later, in a batch
+        if (submissionIngestService.isEnabled()) {
+            return submissionIngestService.enqueue(feedback);
+        }
+
+        Feedback saved = feedbackRepository.save(feedback);
+        analyticsCounterService.recordSubmitted(saved.getStatus(), saved.getCategory(), saved.getRating());
+        analyticsRollupService.recordSubmitted(saved.getCreatedAt(), saved.getCategory(), saved.getRating());
+        adminEventService.feedbackCreated(List.of(saved));
+        return saved;
     }
 
     /**
      * Gets all feedback for a specific student. (Module 3)
      */
-    public List<Feedback> getFeedbackByStudentId(String studentId) {
-        return feedbackRepository.findByStudentId(studentId);
+    public List<FeedbackSummaryDTO> getFeedbackByStudentId(String studentId) {
+        return feedbackRepository.findSummariesByStudentId(studentId);
+    }
+
+    /**
+     * Gets one full feedback item (including its thread) for the student who submitted it.
+     */
+    public Feedback getFeedbackByIdForStudent(String feedbackId, String studentId) {
+        return feedbackRepository.findById(feedbackId)
+                .filter(feedback -> studentId.equals(feedback.getStudentId()))
+                .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + feedbackId));
+    }
+
+    /**
+     * Gets one page of feedback for the admin dashboard, newest first. (Module 4)
+     * Uses keyset pagination on (createdAt, id); status and category filters
+     * are applied by MongoDB, not in memory.
+     *
+     * @param status   Optional status filter (null or blank for all).
+     * @param category Optional category filter (null or blank for all).
+     * @param cursor   The nextCursor of the previous page, or null for the first page.
+     * @param limit    Requested page size (capped at feedback.admin.max-page-size).
+     */
+    public CursorPageDTO<FeedbackAdminSummaryDTO> getFeedbackPageForAdmin(String status, String category,
+                                                                      String cursor, Integer limit) {
+        int pageSize = (limit == null || limit <= 0) ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        LocalDateTime afterCreatedAt = null;
+        String afterId = null;
+        if (StringUtils.hasText(cursor)) {
+            // A tampered or stale cursor is an IllegalArgumentException (400 Bad Request)
+            FeedbackQueries.Cursor after = FeedbackQueries.decodeCursor(cursor);
+            afterCreatedAt = after.createdAt();
+            afterId = after.id();
+        }
+
+        // Fetch one extra item to find out whether there is a next page
+        List<FeedbackSummaryDTO> page = feedbackRepository.findSummaryPage(
+                StringUtils.hasText(status) ? status : null,
+                StringUtils.hasText(category) ? category : null,
+                afterCreatedAt, afterId, pageSize + 1);
+
+        String nextCursor = null;
+        if (page.size() > pageSize) {
+            page = page.subList(0, pageSize);
+            FeedbackSummaryDTO last = page.get(pageSize - 1);
+            nextCursor = FeedbackQueries.encodeCursor(last.getCreatedAt(), last.getId());
+        }
+
+        return new CursorPageDTO<>(toAdminViews(page), nextCursor);
+    }
+
+    /**
+     * Writes all matching feedback summaries to the output as NDJSON (one admin view per line).
+     * Feedback is read from a MongoDB cursor and processed one batch at a time:
+     * student names are resolved per batch and the output is flushed after each one.
+     * Because the writes block while the client is slow to read, the cursor is only
+     * advanced as fast as the client consumes, and memory stays bounded by the batch size.
+     */
+    public void streamFeedbackForAdmin(String status, String category, OutputStream out) throws IOException {
+        try (Stream<FeedbackSummaryDTO> feedbackStream = feedbackRepository.streamSummaries(
+                StringUtils.hasText(status) ? status : null,
+                StringUtils.hasText(category) ? category : null,
+                streamBatchSize)) {
+
+            List<FeedbackSummaryDTO> batch = new ArrayList<>(streamBatchSize);
+            Iterator<FeedbackSummaryDTO> iterator = feedbackStream.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == streamBatchSize || !iterator.hasNext()) {
+                    for (FeedbackAdminSummaryDTO view : toAdminViews(batch)) {
+                        out.write(objectMapper.writeValueAsBytes(view));
+                        out.write('\n');
+                    }
+                    out.flush();
+                    batch.clear();
+                }
+            }
+        }
     }
 
     /**
-     * Gets all feedback for the admin dashboard. (Module 4)
+     * Searches the feedback text and comments for the admin dashboard, most relevant first.
+     * Uses the MongoDB text index, so words are matched on their stem ("rooms" finds "room")
+     * and common words are ignored.
      */
-    public List<FeedbackAdminViewDTO> getAllFeedbackForAdmin() {
-        List<Feedback> allFeedback = feedbackRepository.findAll();
+    public SearchPageDTO<FeedbackAdminSummaryDTO> searchFeedbackForAdmin(FeedbackSearchCriteria criteria) {
+        if (!StringUtils.hasText(criteria.getQ())) {
+            throw new IllegalArgumentException("Search text (q) is required");
+        }
+        int pageSize = (criteria.getLimit() == null || criteria.getLimit() <= 0)
+                ? searchPageSize : Math.min(criteria.getLimit(), maxPageSize);
+        int page = Math.max(criteria.getPage(), 0);
+        int skip = page * pageSize;
+        if (skip >= searchMaxResults) {
+            throw new IllegalArgumentException("Search results are limited to the first " + searchMaxResults
+                    + "; please narrow the search");
+        }
 
-        List<String> studentIds = allFeedback.stream()
-                .map(Feedback::getStudentId)
+        // Fetch one extra hit to find out whether there is a next page
+        List<FeedbackSearchHitDTO> hits = feedbackRepository.searchSummaries(criteria, skip, pageSize + 1);
+        boolean hasMore = hits.size() > pageSize && skip + pageSize < searchMaxResults;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+        }
+        return new SearchPageDTO<>(toAdminViews(hits), page, hasMore);
+    }
+
+    /**
+     * Adds the student's name and email to each feedback, respecting anonymity.
+     * Students are fetched with a single findAllById for the whole list.
+     */
+    private List<FeedbackAdminSummaryDTO> toAdminViews(List<? extends FeedbackSummaryDTO> feedbackList) {
+        // Anonymous feedback never shows the student, so there is no need to look them up
+        List<String> studentIds = feedbackList.stream()
+                .filter(feedback -> !feedback.isAnonymous())
+                .map(FeedbackSummaryDTO::getStudentId)
                 .distinct()
                 .toList();
 
         Map<String, User> userMap = userRepository.findAllById(studentIds).stream()
                 .collect(Collectors.toMap(User::getId, user -> user));
 
-        List<FeedbackAdminViewDTO> adminViewList = new ArrayList<>();
-        for (Feedback feedback : allFeedback) {
-            if (feedback.isAnonymous()) {
-                adminViewList.add(new FeedbackAdminViewDTO(feedback, "Anonymous", ""));
-            } else {
-                User student = userMap.get(feedback.getStudentId());
-                String name = (student != null) ? student.getName() : "Unknown User";
-                String email = (student != null) ? student.getEmail() : "";
-                adminViewList.add(new FeedbackAdminViewDTO(feedback, name, email));
-            }
+        List<FeedbackAdminSummaryDTO> adminViewList = new ArrayList<>();
+        for (FeedbackSummaryDTO feedback : feedbackList) {
+            adminViewList.add(FeedbackAdminSummaryDTO.of(feedback, userMap.get(feedback.getStudentId())));
         }
         return adminViewList;
     }
 
     /**
-     * Gets the status analytics data. (Module 4)
+     * Gets the dashboard analytics: status and category counts plus rating averages. (Module 4)
+     * Read from the materialised counters (or, if they are disabled, one $facet aggregation),
+     * and cached for a few seconds so that many admins refreshing at once share one computation.
      */
-    public List<AnalyticsDTO> getStatusAnalytics() {
-        return feedbackRepository.countByStatus();
+    public DashboardAnalyticsDTO getDashboardAnalytics() {
+        return dashboardCache.get(DASHBOARD_CACHE_KEY, () -> {
+            DashboardAnalyticsDTO dashboard = analyticsCounterService.isEnabled()
+                    ? analyticsCounterService.getDashboard()
+                    : feedbackRepository.aggregateDashboard();
+            dashboard.fillAverageRating();
+            return dashboard;
+        });
     }
 
     /**
-     * Gets the category analytics data. (Module 4)
+     * Drops the cached dashboard, e.g. after the counters were rebuilt.
      */
-    public List<AnalyticsDTO> getCategoryAnalytics() {
-        return feedbackRepository.countByCategory();
+    public void invalidateDashboardAnalytics() {
+        dashboardCache.invalidate(DASHBOARD_CACHE_KEY);
     }
 
     // --- NEW METHODS FOR MODULE 5 ---
@@ -125,50 +302,103 @@ public class FeedbackService {
 
     /**
      * Updates the status of a specific feedback item.
+     * Moving to "resolved" records a ResolutionLog and feeds the time-to-resolution rollups.
+     * The change is one atomic update on the server, made only while the feedback still has
+     * the status just read, so the status it replaced is known exactly; setting the status a
+     * feedback already has is a no-op.
      *
      * @param feedbackId The ID of the feedback to update.
      * @param newStatus  The new status (e.g., "in_progress", "resolved").
+     * @param adminUserId The ID of the admin who is changing the status.
+     * @param expectedVersion The version the admin last saw, or null to skip the check.
      * @return The updated Feedback object.
+     * @throws FeedbackConflictException if the feedback is no longer at the expected version.
      */
-    public Feedback updateFeedbackStatus(String feedbackId, String newStatus) {
-        Feedback feedback = feedbackRepository.findById(feedbackId)
-                .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + feedbackId));
+    public Feedback updateFeedbackStatus(String feedbackId, String newStatus, String adminUserId,
+                                         Long expectedVersion) {
+        ResolutionLog resolutionLog = "resolved".equals(newStatus)
+                ? new ResolutionLog(adminUserId, null, LocalDateTime.now())
+                : null;
 
-        feedback.setStatus(newStatus);
-        
-        // We'll add logic for the ResolutionLog here later
-        // if (newStatus.equals("resolved")) { ... }
+        Feedback feedback;
+        String oldStatus;
+        do {
+            Feedback current = findStatus(feedbackId);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new FeedbackConflictException(findCurrent(feedbackId));
+            }
+            if (newStatus.equals(current.getStatus())) {
+                return findCurrent(feedbackId);
+            }
+            oldStatus = current.getStatus();
+            // Null if its status or version changed since it was read; then look again
+            feedback = feedbackRepository.setStatus(feedbackId, oldStatus, newStatus, resolutionLog, expectedVersion);
+        } while (feedback == null);
 
-        return feedbackRepository.save(feedback);
+        analyticsCounterService.recordStatusChange(oldStatus, newStatus);
+        // Only resolving replaces the resolutionLog, so on a reopen the stored one is still the old one
+        analyticsRollupService.recordStatusChange(feedback.getCreatedAt(), feedback.getCategory(),
+                oldStatus, resolvedAt(feedback), newStatus, resolvedAt(feedback));
+        adminEventService.statusChanged(feedbackId, oldStatus, newStatus, feedback.getVersion());
+        return feedback;
     }
 
     /**
      * Posts a new reply (a Comment) to a feedback thread.
+     * The comment is appended with one atomic update, so parallel replies are never lost.
      *
      * @param feedbackId The ID of the feedback to reply to.
-     * @param replyDTO   The DTO containing the reply content.
+     * @param replyDTO   The DTO containing the reply content (and optionally the version the admin saw).
      * @param adminUserId The ID of the admin who is replying.
      * @return The updated Feedback object with the new comment in its thread.
+     * @throws FeedbackConflictException if a version was given and it is no longer current.
      */
     public Feedback postReplyToFeedback(String feedbackId, ReplyDTO replyDTO, String adminUserId) {
-        Feedback feedback = feedbackRepository.findById(feedbackId)
-                .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + feedbackId));
-
         Comment newComment = new Comment(
                 adminUserId,
                 replyDTO.getContent(),
                 LocalDateTime.now()
         );
 
-        // Add the new comment to the existing thread
-        feedback.getThread().add(newComment);
+        Feedback feedback;
+        String oldStatus;
+        do {
+            Feedback current = findStatus(feedbackId);
+            if (replyDTO.getVersion() != null && !replyDTO.getVersion().equals(current.getVersion())) {
+                // Someone else changed it since the admin loaded it
+                throw new FeedbackConflictException(findCurrent(feedbackId));
+            }
+            oldStatus = current.getStatus();
+            // Null if its status or version changed since it was read; then look again
+            feedback = feedbackRepository.pushReply(feedbackId, newComment, oldStatus, replyDTO.getVersion());
+        } while (feedback == null);
 
-        // Mark as in_progress if it was open
-        if (feedback.getStatus().equals("open")) {
-            feedback.setStatus("in_progress");
+        // Open feedback was marked in_progress by the same update on the server
+        if ("open".equals(oldStatus)) {
+            analyticsCounterService.recordStatusChange("open", "in_progress");
         }
+        adminEventService.replyPosted(feedbackId, oldStatus, feedback.getStatus(), feedback.getVersion(),
+                newComment.getTimestamp());
+
+        // Long threads keep only their newest comments inline (if bucketing is enabled)
+        return commentBucketService.archiveOverflow(feedback);
+    }
+
+    private Feedback findCurrent(String feedbackId) {
+        return feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + feedbackId));
+    }
+
+    private Feedback findStatus(String feedbackId) {
+        Feedback current = feedbackRepository.findStatusById(feedbackId);
+        if (current == null) {
+            throw new RuntimeException("Feedback not found with id: " + feedbackId);
+        }
+        return current;
+    }
 
-        return feedbackRepository.save(feedback);
+    private static LocalDateTime resolvedAt(Feedback feedback) {
+        return (feedback.getResolutionLog() != null) ? feedback.getResolutionLog().getTimestamp() : null;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.security.TokenVersionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Revokes all existing JWTs of a user by bumping their token version.
+ * Tokens carry the version they were issued with, and the JWT filter
+ * rejects tokens whose version is older than the user's current one.
+ */
+@Service
+public class SessionRevocationService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    /**
+     * Invalidates every token issued to the user so far.
+     *
+     * @param email The email of the user whose sessions should end.
+     * @return The user's new token version.
+     */
+    public int revokeAllSessions(String email) {
+        // $inc is atomic, so concurrent revocations never lose a bump
+        User user = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("email").is(email)),
+                new Update().inc("tokenVersion", 1).currentDate("modifiedAt"),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+
+        tokenVersionRegistry.recordVersion(email, user.getTokenVersion());
+        customUserDetailsService.evictUser(email);
+        return user.getTokenVersion();
+    }
+}
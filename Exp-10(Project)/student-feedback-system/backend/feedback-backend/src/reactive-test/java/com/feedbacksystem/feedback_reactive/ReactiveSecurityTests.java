@@ -0,0 +1,64 @@
+package com.feedbacksystem.feedback_reactive;
+
+import com.feedbacksystem.feedback_backend.model.Role;
+import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Checks that the reactive JWT filter and access rules answer like the servlet application.
+ * Runs in stateless JWT mode, so no MongoDB is needed.
+ */
+@SpringBootTest(properties = {
+		"spring.main.web-application-type=reactive",
+		"jwt.stateless=true",
+		"jwt.stateless.load-revocations=false",
+		"feedback.indexes.ensure-on-startup=false",
+		"feedback.indexes.explain-on-startup=false"
+})
+@AutoConfigureWebTestClient
+class ReactiveSecurityTests {
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private JwtTokenProvider tokenProvider;
+
+	@Test
+	void requestsWithoutAValidTokenAreForbidden() {
+		webTestClient.get().uri("/api/feedback/my-feedback")
+				.exchange()
+				.expectStatus().isForbidden();
+
+		webTestClient.get().uri("/api/feedback/my-feedback")
+				.header("Authorization", "Bearer not-a-token")
+				.exchange()
+				.expectStatus().isForbidden();
+	}
+
+	@Test
+	void adminRoutesNeedTheAdminRole() {
+		webTestClient.get().uri("/api/admin/analytics")
+				.header("Authorization", "Bearer " + tokenFor(Role.ROLE_STUDENT))
+				.exchange()
+				.expectStatus().isForbidden();
+
+		// An admin gets through to the controller; a search without text is rejected there
+		webTestClient.get().uri("/api/admin/feedback/search")
+				.header("Authorization", "Bearer " + tokenFor(Role.ROLE_ADMIN))
+				.exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	private String tokenFor(Role role) {
+		UserPrincipal principal = new UserPrincipal("u1", "Test User", "test@example.com", null, role, 0);
+		return tokenProvider.generateToken(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+}
@@ -0,0 +1,31 @@
+package com.feedbacksystem.feedback_reactive;
+
+import com.feedbacksystem.feedback_backend.repository.IndexManager;
+import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.TokenVersionRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive (WebFlux + reactive MongoDB) variant of the feedback and admin APIs.
+ * Built with {@code mvn -Preactive}; it serves the same request/response contracts as
+ * FeedbackBackendApplication so the two can be compared under the same load.
+ * <p>
+ * It shares the model, DTOs, query helpers, JWT handling and index setup with the
+ * servlet application, but none of its controllers or services.
+ */
+@SpringBootApplication(exclude = MongoRepositoriesAutoConfiguration.class) // Only reactive repositories here
+@Import({JwtTokenProvider.class, TokenVersionRegistry.class, IndexManager.class})
+public class FeedbackReactiveApplication {
+
+	public static void main(String[] args) {
+		// Spring MVC is on the classpath too, so the web application type has to be explicit
+		new SpringApplicationBuilder(FeedbackReactiveApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.run(args);
+	}
+
+}
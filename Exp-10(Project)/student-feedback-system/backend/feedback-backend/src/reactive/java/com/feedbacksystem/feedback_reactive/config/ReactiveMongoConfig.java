@@ -0,0 +1,30 @@
+package com.feedbacksystem.feedback_reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same MongoDB connection pool limits as ThreadingConfig sets for the servlet application,
+ * so a load comparison differs only in how requests are served.
+ * Here nothing blocks while waiting: operations queue inside the driver for a free connection.
+ */
+@Configuration
+public class ReactiveMongoConfig {
+
+    @Value("${feedback.mongo.max-pool-size:100}")
+    private int maxPoolSize;
+
+    @Value("${feedback.mongo.max-wait-ms:120000}")
+    private long maxWaitMs;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxPoolSize)
+                .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,127 @@
+package com.feedbacksystem.feedback_reactive.config;
+
+import com.feedbacksystem.feedback_backend.security.BCryptCalibration;
+import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.TokenVersionRegistry;
+import com.feedbacksystem.feedback_reactive.security.JwtAuthenticationWebFilter;
+import com.feedbacksystem.feedback_reactive.security.ReactivePrincipalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * WebFlux version of SecurityConfig, with the same rules: stateless JWT authentication,
+ * /api/auth/** open, /api/admin/** for admins only, everything else for any logged-in user.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private ReactivePrincipalService principalService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${jwt.stateless:false}")
+    private boolean statelessMode;
+
+    // Same password hashing settings as SecurityConfig and PasswordHashingService
+    @Value("${security.password.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${security.password.bcrypt.target-ms:100}")
+    private long bcryptTargetMs;
+
+    @Value("${security.password.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${security.password.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.hash-queue-capacity:200}")
+    private int hashQueueCapacity;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http
+                .csrf(csrf -> csrf.disable())
+                .httpBasic(httpBasic -> httpBasic.disable())
+                .formLogin(formLogin -> formLogin.disable())
+                .logout(logout -> logout.disable())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                // Nothing is kept between requests; every request brings its token
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                // The servlet app answers unauthenticated requests with 403, so this one does too
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                        .anyExchange().authenticated())
+                .addFilterAt(new JwtAuthenticationWebFilter(tokenProvider, principalService,
+                        tokenVersionRegistry, statelessMode), SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+
+    // Checks login passwords; the BCrypt comparison runs on the password hashing scheduler, off the event loop
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager() {
+        UserDetailsRepositoryReactiveAuthenticationManager manager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(principalService);
+        manager.setPasswordEncoder(passwordEncoder());
+        manager.setScheduler(passwordHashScheduler());
+        return manager;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder(BCryptCalibration.resolveStrength(
+                bcryptStrength, bcryptTargetMs, bcryptMinStrength, bcryptMaxStrength));
+    }
+
+    // A few threads with a bounded queue, so a login storm cannot take every core
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashScheduler() {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return Schedulers.newBoundedElastic(threads, hashQueueCapacity, "password-hash");
+    }
+
+    @Bean
+    CorsConfigurationSource corsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of("http://localhost:3000"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
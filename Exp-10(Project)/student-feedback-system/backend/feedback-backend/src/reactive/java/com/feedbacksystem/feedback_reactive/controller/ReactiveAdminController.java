@@ -0,0 +1,127 @@
+package com.feedbacksystem.feedback_reactive.controller;
+
+import com.feedbacksystem.feedback_backend.dto.CursorPageDTO;
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminSummaryDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminViewDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.ReplyDTO;
+import com.feedbacksystem.feedback_backend.dto.SearchPageDTO;
+import com.feedbacksystem.feedback_backend.dto.StatusDTO;
+import com.feedbacksystem.feedback_backend.exception.FeedbackConflictException;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import com.feedbacksystem.feedback_reactive.service.ReactiveFeedbackService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive version of the day-to-day AdminController endpoints (list, stream, search,
+ * detail, status, reply, analytics). Sirf ROLE_ADMIN access kar sakta hai (ReactiveSecurityConfig).
+ * Maintenance endpoints (import, rebuild, trends, bulk, stats, revoke) sirf servlet app mein hain.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class ReactiveAdminController {
+
+    @Autowired
+    private ReactiveFeedbackService feedbackService;
+
+    /**
+     * URL: GET /api/admin/feedback?status=open&category=Courses&limit=50&cursor=...
+     */
+    @GetMapping("/feedback")
+    public Mono<ResponseEntity<CursorPageDTO<FeedbackAdminSummaryDTO>>> getAllFeedback(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return feedbackService.getFeedbackPageForAdmin(status, category, cursor, limit)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: GET /api/admin/feedback/stream?status=open&category=Courses
+     * (Har item ek alag JSON line mein jaata hai, jaise hi client padhta hai)
+     */
+    @GetMapping(value = "/feedback/stream", produces = "application/x-ndjson")
+    public Flux<FeedbackAdminSummaryDTO> streamAllFeedback(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String category) {
+        return feedbackService.streamFeedbackForAdmin(status, category);
+    }
+
+    /**
+     * URL: GET /api/admin/feedback/search?q=wifi slow&status=open&page=0&limit=20
+     */
+    @GetMapping("/feedback/search")
+    public Mono<ResponseEntity<SearchPageDTO<FeedbackAdminSummaryDTO>>> searchFeedback(
+            FeedbackSearchCriteria criteria) {
+        return feedbackService.searchFeedbackForAdmin(criteria)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: GET /api/admin/analytics
+     */
+    @GetMapping("/analytics")
+    public Mono<ResponseEntity<DashboardAnalyticsDTO>> getAnalytics() {
+        return feedbackService.getDashboardAnalytics()
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: GET /api/admin/feedback/{id}
+     */
+    @GetMapping("/feedback/{id}")
+    public Mono<ResponseEntity<FeedbackAdminViewDTO>> getFeedbackById(@PathVariable String id) {
+        return feedbackService.getFeedbackByIdForAdmin(id)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: PUT /api/admin/feedback/{id}/status
+     */
+    @PutMapping("/feedback/{id}/status")
+    public Mono<ResponseEntity<Feedback>> updateFeedbackStatus(
+            @PathVariable String id,
+            @Valid @RequestBody StatusDTO statusDTO,
+            @AuthenticationPrincipal UserPrincipal admin) {
+        return feedbackService.updateFeedbackStatus(id, statusDTO.getStatus(), admin.getId(), statusDTO.getVersion())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: POST /api/admin/feedback/{id}/reply
+     */
+    @PostMapping("/feedback/{id}/reply")
+    public Mono<ResponseEntity<Feedback>> postReply(
+            @PathVariable String id,
+            @Valid @RequestBody ReplyDTO replyDTO,
+            @AuthenticationPrincipal UserPrincipal admin) {
+        return feedbackService.postReplyToFeedback(id, replyDTO, admin.getId())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Purane version par edit karne par 409 Conflict, feedback ki current state ke saath.
+     */
+    @ExceptionHandler(FeedbackConflictException.class)
+    public ResponseEntity<Feedback> handleConflict(FeedbackConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getCurrent());
+    }
+
+    /**
+     * Galat request (search mein "q" nahi, ya bahut aage ka page) par 400 Bad Request, wajah ke saath.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body("Error: " + ex.getMessage());
+    }
+}
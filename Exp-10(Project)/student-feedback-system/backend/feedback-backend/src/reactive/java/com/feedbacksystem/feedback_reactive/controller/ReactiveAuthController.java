@@ -0,0 +1,130 @@
+package com.feedbacksystem.feedback_reactive.controller;
+
+import com.feedbacksystem.feedback_backend.dto.AuthResponse;
+import com.feedbacksystem.feedback_backend.dto.LoginRequest;
+import com.feedbacksystem.feedback_backend.dto.RegisterRequest;
+import com.feedbacksystem.feedback_backend.model.Role;
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.repository.IndexManager;
+import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import com.feedbacksystem.feedback_reactive.repository.ReactiveUserRepository;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive version of AuthController (same URLs, same request aur response).
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class ReactiveAuthController {
+
+    // Login ka email/password check karta hai (ReactiveSecurityConfig mein define kiya hai).
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    // Password hashing ke liye limited threads (ReactiveSecurityConfig mein define kiya hai).
+    @Autowired
+    private Scheduler passwordHashScheduler;
+
+    // Email ka unique index maujood hai ya nahi, yeh check karta hai (blocking, sirf pehli baar database tak jaata hai)
+    @Autowired
+    private IndexManager indexManager;
+
+    /**
+     * Yeh login endpoint hai.
+     * URL: POST /api/auth/login
+     */
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponse>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        // Email/password galat ho toh yeh Mono error deta hai (neeche 403 ban jaata hai).
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(
+                        loginRequest.getEmail(),
+                        loginRequest.getPassword()))
+                .map(authentication -> {
+                    // Principal mein user ki saari details pehle se hain, database se dobara laane ki zaroorat nahi.
+                    UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+                    return ResponseEntity.ok(new AuthResponse(
+                            tokenProvider.generateToken(authentication),
+                            user.getRole().name(),
+                            user.getEmail(),
+                            user.getName()));
+                });
+    }
+
+    /**
+     * Yeh register endpoint hai.
+     * URL: POST /api/auth/register
+     */
+    @PostMapping("/register")
+    public Mono<ResponseEntity<String>> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
+        // BCrypt hashing CPU ka kaam hai, isliye event loop par nahi, alag thread par chalta hai.
+        return Mono.fromCallable(() -> passwordEncoder.encode(registerRequest.getPassword()))
+                .subscribeOn(passwordHashScheduler)
+                .map(hash -> User.builder()
+                        .name(registerRequest.getName())
+                        .email(registerRequest.getEmail())
+                        .password(hash)
+                        .role(Role.ROLE_STUDENT)
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                // Sirf ek insert; email ka unique index hi duplicate ko rokta hai.
+                // Index na ho toh pehle lookup karte hain (servlet app jaisa hi).
+                .flatMap(user -> Mono.fromCallable(indexManager::ensureUniqueEmailIndex)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(indexed -> indexed
+                                ? userRepository.insert(user).thenReturn(true)
+                                : userRepository.findByEmail(user.getEmail()).hasElement()
+                                        .flatMap(taken -> taken
+                                                ? Mono.just(false)
+                                                : userRepository.insert(user).thenReturn(true))))
+                .map(registered -> registered
+                        ? ResponseEntity.ok("User registered successfully!")
+                        : ResponseEntity.badRequest().body("Error: Email is already taken!"))
+                // Agar email pehle se use hua hai, toh '400 Bad Request' error bhej do.
+                .onErrorResume(DuplicateKeyException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body("Error: Email is already taken!")));
+    }
+
+    /**
+     * Galat email/password par servlet app jaisa hi '403 Forbidden' bhejte hain.
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Void> handleBadCredentials(AuthenticationException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    /**
+     * Saare hashing threads busy aur queue full ho toh '503 Service Unavailable'.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleHashingBusy(RejectedExecutionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.feedbacksystem.feedback_reactive.controller;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackRequestDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import com.feedbacksystem.feedback_reactive.service.ReactiveFeedbackService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive version of FeedbackController (student ke feedback submit aur list karne ke endpoints).
+ */
+@RestController
+@RequestMapping("/api/feedback")
+public class ReactiveFeedbackController {
+
+    @Autowired
+    private ReactiveFeedbackService feedbackService;
+
+    /**
+     * URL: POST /api/feedback/submit
+     * (Yahan feedback hamesha seedha save hota hai, isliye response '200 OK' hi hai.)
+     */
+    @PostMapping("/submit")
+    public Mono<ResponseEntity<Feedback>> submitFeedback(@Valid @RequestBody FeedbackRequestDTO requestDTO,
+                                                         @AuthenticationPrincipal UserPrincipal principal) {
+        return feedbackService.submitFeedback(requestDTO, principal.getId())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: GET /api/feedback/my-feedback
+     */
+    @GetMapping("/my-feedback")
+    public Mono<ResponseEntity<List<FeedbackSummaryDTO>>> getMyFeedback(
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return feedbackService.getFeedbackByStudentId(principal.getId())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * URL: GET /api/feedback/my-feedback/{id}
+     */
+    @GetMapping("/my-feedback/{id}")
+    public Mono<ResponseEntity<Feedback>> getMyFeedbackById(@PathVariable String id,
+                                                            @AuthenticationPrincipal UserPrincipal principal) {
+        // Service check karti hai ki yeh feedback isi student ka hai.
+        return feedbackService.getFeedbackByIdForStudent(id, principal.getId())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,24 @@
+package com.feedbacksystem.feedback_reactive.repository;
+
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of FeedbackRepository.
+ * Queries that need ReactiveMongoTemplate live in ReactiveFeedbackRepositoryCustom.
+ */
+@Repository
+public interface ReactiveFeedbackRepository
+        extends ReactiveMongoRepository<Feedback, String>, ReactiveFeedbackRepositoryCustom {
+
+    /**
+     * Same single-pass $facet aggregation as {@link FeedbackRepository#aggregateDashboard()}.
+     */
+    @Aggregation(pipeline = FeedbackRepository.DASHBOARD_FACET)
+    Mono<DashboardAnalyticsDTO> aggregateDashboard();
+}
@@ -0,0 +1,51 @@
+package com.feedbacksystem.feedback_reactive.repository;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepositoryCustom;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterparts of the FeedbackRepositoryCustom queries used by the reactive APIs.
+ * They run the same MongoDB commands; see {@link FeedbackRepositoryCustom} for the details.
+ */
+public interface ReactiveFeedbackRepositoryCustom {
+
+    Flux<FeedbackSummaryDTO> findSummaryPage(String status, String category,
+                                             LocalDateTime afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Emits all matching summaries, newest first. Documents are fetched from the
+     * server in batches of the given size, only as fast as the subscriber requests them.
+     */
+    Flux<FeedbackSummaryDTO> streamSummaries(String status, String category, int batchSize);
+
+    Flux<FeedbackSummaryDTO> findSummariesByStudentId(String studentId);
+
+    Flux<FeedbackSearchHitDTO> searchSummaries(FeedbackSearchCriteria criteria, int skip, int limit);
+
+    /**
+     * @return Only the id, status and version; empty if it does not exist.
+     */
+    Mono<Feedback> findStatusById(String feedbackId);
+
+    /**
+     * @return The document as stored by the update; empty if it does not exist
+     *         or its status or version is not the expected one.
+     */
+    Mono<Feedback> pushReply(String feedbackId, Comment comment, String expectedStatus, Long expectedVersion);
+
+    /**
+     * @return The document as stored by the update; empty if it does not exist
+     *         or its status or version is not the expected one.
+     */
+    Mono<Feedback> setStatus(String feedbackId, String expectedStatus, String newStatus,
+                             ResolutionLog resolutionLog, Long expectedVersion);
+}
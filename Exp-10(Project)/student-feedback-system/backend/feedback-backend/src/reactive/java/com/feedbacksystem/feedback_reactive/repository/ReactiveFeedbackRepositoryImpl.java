@@ -0,0 +1,109 @@
+package com.feedbacksystem.feedback_reactive.repository;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+import com.feedbacksystem.feedback_backend.repository.FeedbackQueries;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.NEWEST_FIRST;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.pageCriteria;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.searchFilters;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.statusQuery;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.statusUpdate;
+import static com.feedbacksystem.feedback_backend.repository.FeedbackQueries.summaryProjection;
+
+/**
+ * ReactiveMongoTemplate-based implementation of ReactiveFeedbackRepositoryCustom.
+ * Builds its commands with FeedbackQueries, exactly like FeedbackRepositoryImpl.
+ */
+public class ReactiveFeedbackRepositoryImpl implements ReactiveFeedbackRepositoryCustom {
+
+    // The atomic updates return the previous document; the caller derives the new state from it
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<FeedbackSummaryDTO> findSummaryPage(String status, String category,
+                                                    LocalDateTime afterCreatedAt, String afterId, int limit) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                Aggregation.match(pageCriteria(status, category, afterCreatedAt, afterId)),
+                Aggregation.sort(NEWEST_FIRST),
+                Aggregation.limit(limit),
+                summaryProjection());
+        return mongoTemplate.aggregate(aggregation, FeedbackSummaryDTO.class);
+    }
+
+    @Override
+    public Flux<FeedbackSummaryDTO> streamSummaries(String status, String category, int batchSize) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                        Aggregation.match(pageCriteria(status, category, null, null)),
+                        Aggregation.sort(NEWEST_FIRST),
+                        summaryProjection())
+                .withOptions(AggregationOptions.builder().cursorBatchSize(batchSize).build());
+        return mongoTemplate.aggregate(aggregation, FeedbackSummaryDTO.class);
+    }
+
+    @Override
+    public Flux<FeedbackSummaryDTO> findSummariesByStudentId(String studentId) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                Aggregation.match(Criteria.where("studentId").is(studentId)),
+                Aggregation.sort(NEWEST_FIRST),
+                summaryProjection());
+        return mongoTemplate.aggregate(aggregation, FeedbackSummaryDTO.class);
+    }
+
+    @Override
+    public Flux<FeedbackSearchHitDTO> searchSummaries(FeedbackSearchCriteria criteria, int skip, int limit) {
+        TypedAggregation<Feedback> aggregation = Aggregation.newAggregation(Feedback.class,
+                // $text has to be in the first stage; it is answered from the text index
+                Aggregation.match(TextCriteria.forDefaultLanguage().matching(criteria.getQ())),
+                Aggregation.match(searchFilters(criteria)),
+                Aggregation.addFields().addFieldWithValue("score", new Document("$meta", "textScore")).build(),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "score", "createdAt", "id")),
+                Aggregation.skip((long) skip),
+                Aggregation.limit(limit),
+                summaryProjection("score"));
+        return mongoTemplate.aggregate(aggregation, FeedbackSearchHitDTO.class);
+    }
+
+    @Override
+    public Mono<Feedback> findStatusById(String feedbackId) {
+        Query query = Query.query(Criteria.where("id").is(feedbackId));
+        query.fields().include("status", "version");
+        return mongoTemplate.findOne(query, Feedback.class);
+    }
+
+    @Override
+    public Mono<Feedback> pushReply(String feedbackId, Comment comment, String expectedStatus, Long expectedVersion) {
+        Object commentDocument = mongoTemplate.getConverter().convertToMongoType(comment);
+        return mongoTemplate.findAndModify(statusQuery(feedbackId, expectedStatus, expectedVersion),
+                FeedbackQueries.replyUpdate(commentDocument), RETURN_NEW, Feedback.class);
+    }
+
+    @Override
+    public Mono<Feedback> setStatus(String feedbackId, String expectedStatus, String newStatus,
+                                    ResolutionLog resolutionLog, Long expectedVersion) {
+        return mongoTemplate.findAndModify(statusQuery(feedbackId, expectedStatus, expectedVersion),
+                statusUpdate(newStatus, resolutionLog), RETURN_NEW, Feedback.class);
+    }
+}
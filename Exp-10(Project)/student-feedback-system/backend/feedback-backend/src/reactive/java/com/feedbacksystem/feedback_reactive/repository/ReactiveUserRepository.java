@@ -0,0 +1,16 @@
+package com.feedbacksystem.feedback_reactive.repository;
+
+import com.feedbacksystem.feedback_backend.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of UserRepository.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+
+    Mono<User> findByEmail(String email);
+
+}
@@ -0,0 +1,102 @@
+package com.feedbacksystem.feedback_reactive.security;
+
+import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.TokenVersionRegistry;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive equivalent of JwtAuthenticationFilter: validates the bearer token and puts
+ * the user's principal in the reactive security context.
+ * <p>
+ * Same rules as the servlet filter: with {@code jwt.stateless=true} the principal is
+ * built from the token claims alone, otherwise it is loaded through the principal cache;
+ * tokens older than the user's current token version are ignored. A request with a
+ * missing or bad token simply continues unauthenticated.
+ * <p>
+ * Not a bean on purpose: WebFlux would also add every WebFilter bean to the main
+ * filter chain. ReactiveSecurityConfig adds it to the security chain only.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationWebFilter.class);
+
+    private final JwtTokenProvider tokenProvider;
+    private final ReactivePrincipalService principalService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessMode;
+
+    public JwtAuthenticationWebFilter(JwtTokenProvider tokenProvider, ReactivePrincipalService principalService,
+                                      TokenVersionRegistry tokenVersionRegistry, boolean statelessMode) {
+        this.tokenProvider = tokenProvider;
+        this.principalService = principalService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.statelessMode = statelessMode;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return Mono.defer(() -> authenticate(exchange.getRequest()))
+                .onErrorResume(ex -> {
+                    // If anything goes wrong, we log it and don't authenticate the user
+                    logger.error("Could not set user authentication in security context", ex);
+                    return Mono.empty();
+                })
+                .flatMap(authentication -> chain.filter(exchange)
+                        .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                        .thenReturn(authentication))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).then(Mono.empty())))
+                .then();
+    }
+
+    private Mono<Authentication> authenticate(ServerHttpRequest request) {
+        String jwt = getJwtFromRequest(request);
+
+        // Validate the token and get its claims (email, roles, user id, token version) in one parse
+        Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseAndValidate(jwt) : null;
+        if (claims == null) {
+            return Mono.empty();
+        }
+
+        // Older tokens without a user id claim always go through the database
+        Mono<UserPrincipal> principal = statelessMode && claims.containsKey(JwtTokenProvider.USER_ID_CLAIM)
+                ? Mono.just(tokenProvider.getPrincipalFromClaims(claims))
+                : principalService.findPrincipal(claims.getSubject());
+
+        int tokenVersion = tokenProvider.getTokenVersion(claims);
+        return principal
+                .filter(user -> isTokenVersionCurrent(user, tokenVersion))
+                .map(user -> new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    /**
+     * Checks the token's version against the newest one we know of.
+     * In stateless mode only revocations recorded in the registry are visible.
+     */
+    private boolean isTokenVersionCurrent(UserPrincipal principal, int tokenVersion) {
+        if (statelessMode) {
+            return tokenVersionRegistry.isCurrent(principal.getEmail(), tokenVersion);
+        }
+        return tokenVersion >= principal.getTokenVersion();
+    }
+
+    private String getJwtFromRequest(ServerHttpRequest request) {
+        String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.feedbacksystem.feedback_reactive.security;
+
+import com.feedbacksystem.feedback_backend.cache.ExpiringLruCache;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import com.feedbacksystem.feedback_reactive.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of CustomUserDetailsService, with the same principal cache
+ * (and the same security.principal-cache settings). A cache hit never touches MongoDB.
+ */
+@Service
+public class ReactivePrincipalService implements ReactiveUserDetailsService {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    private final ExpiringLruCache<String, UserPrincipal> principalCache;
+
+    public ReactivePrincipalService(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                                    @Value("${security.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.principalCache = new ExpiringLruCache<>(maxSize, ttlMs);
+    }
+
+    /**
+     * Used by the login's authentication manager. Empty if there is no such user.
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String email) {
+        return findPrincipal(email).cast(UserDetails.class);
+    }
+
+    /**
+     * Finds a user's principal, from the cache or from MongoDB. Empty if there is no such user.
+     */
+    public Mono<UserPrincipal> findPrincipal(String email) {
+        UserPrincipal cached = principalCache.get(email);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return userRepository.findByEmail(email)
+                .map(UserPrincipal::fromUser)
+                .doOnNext(principal -> principalCache.put(email, principal));
+    }
+
+    /**
+     * Drops a user's cached principal, see CustomUserDetailsService#evictUser.
+     */
+    public void evictUser(String email) {
+        principalCache.invalidate(email);
+    }
+}
@@ -0,0 +1,170 @@
+package com.feedbacksystem.feedback_reactive.service;
+
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.FeedbackCounter;
+import com.feedbacksystem.feedback_backend.model.FeedbackRollup;
+import com.feedbacksystem.feedback_backend.service.AnalyticsCounterService;
+import com.feedbacksystem.feedback_backend.service.AnalyticsRollupService;
+import com.feedbacksystem.feedback_reactive.repository.ReactiveFeedbackRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the analytics counters and daily rollups up to date for the reactive APIs,
+ * and reads the dashboard. The updates are built by AnalyticsCounterService and
+ * AnalyticsRollupService, so both applications write exactly the same documents.
+ * <p>
+ * Rebuilding and reconciling the counters is left to the servlet application. Until the
+ * counters have been built once, the dashboard is computed with the $facet aggregation.
+ */
+@Service
+public class ReactiveAnalyticsService {
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReactiveFeedbackRepository feedbackRepository;
+
+    @Value("${feedback.analytics.counters.enabled:true}")
+    private boolean countersEnabled;
+
+    @Value("${feedback.analytics.rollups.enabled:true}")
+    private boolean rollupsEnabled;
+
+    private final AtomicBoolean countersBuilt = new AtomicBoolean(false);
+
+    private final Retry lostUpsertRace;
+
+    private final Mono<DashboardAnalyticsDTO> dashboard;
+
+    public ReactiveAnalyticsService(@Value("${feedback.analytics.cache-ttl-ms:5000}") long dashboardCacheTtlMs,
+                                    @Value("${feedback.retry.max-attempts:4}") int maxAttempts,
+                                    @Value("${feedback.retry.base-delay-ms:20}") long baseDelayMs,
+                                    @Value("${feedback.retry.max-delay-ms:500}") long maxDelayMs) {
+        // Same policy as RetryPolicy: an upsert that lost an insert race is retried, nothing else is
+        this.lostUpsertRace = Retry.backoff(maxAttempts - 1, Duration.ofMillis(baseDelayMs))
+                .maxBackoff(Duration.ofMillis(maxDelayMs))
+                .filter(DuplicateKeyException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+
+        // Concurrent requests share one computation, and its result is kept for the TTL
+        Duration ttl = Duration.ofMillis(dashboardCacheTtlMs);
+        this.dashboard = Mono.defer(this::loadDashboard)
+                .cache(value -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * Counts a newly stored feedback in the counters and its day's rollup.
+     */
+    public Mono<Void> recordSubmitted(Feedback feedback) {
+        Map<String, Long> counterDeltas = new LinkedHashMap<>();
+        AnalyticsCounterService.addSubmittedDeltas(counterDeltas, feedback.getStatus(), feedback.getCategory(),
+                feedback.getRating());
+        Map<String, AnalyticsRollupService.RollupDelta> rollupDeltas = new HashMap<>();
+        AnalyticsRollupService.addSubmitted(rollupDeltas, feedback.getCreatedAt(), feedback.getCategory(),
+                feedback.getRating());
+        return applyCounterDeltas(counterDeltas).then(applyRollupDeltas(rollupDeltas));
+    }
+
+    /**
+     * Moves one feedback from the old status bucket to the new one.
+     */
+    public Mono<Void> recordStatusChange(String oldStatus, String newStatus) {
+        if (Objects.equals(oldStatus, newStatus)) {
+            return Mono.empty();
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        AnalyticsCounterService.addDelta(deltas, FeedbackCounter.STATUS, oldStatus, -1);
+        AnalyticsCounterService.addDelta(deltas, FeedbackCounter.STATUS, newStatus, 1);
+        return applyCounterDeltas(deltas);
+    }
+
+    /**
+     * Updates the resolution rollups for a status change; see AnalyticsRollupService#recordStatusChange.
+     */
+    public Mono<Void> recordResolutionChange(LocalDateTime createdAt, String category, String oldStatus,
+                                             LocalDateTime oldResolvedAt, String newStatus, LocalDateTime newResolvedAt) {
+        Map<String, AnalyticsRollupService.RollupDelta> deltas = new HashMap<>();
+        AnalyticsRollupService.addStatusChange(deltas, createdAt, category,
+                oldStatus, oldResolvedAt, newStatus, newResolvedAt);
+        return applyRollupDeltas(deltas);
+    }
+
+    /**
+     * The dashboard analytics, with the overall average rating filled in.
+     * Cached for feedback.analytics.cache-ttl-ms, like FeedbackService#getDashboardAnalytics.
+     */
+    public Mono<DashboardAnalyticsDTO> getDashboard() {
+        return dashboard;
+    }
+
+    private Mono<DashboardAnalyticsDTO> loadDashboard() {
+        Mono<DashboardAnalyticsDTO> result = countersEnabled
+                ? countersReady().flatMap(ready -> ready
+                        ? mongoTemplate.find(AnalyticsCounterService.dashboardQuery(), FeedbackCounter.class)
+                                .collectList()
+                                .map(AnalyticsCounterService::toDashboard)
+                        : feedbackRepository.aggregateDashboard())
+                : feedbackRepository.aggregateDashboard();
+        return result.doOnNext(DashboardAnalyticsDTO::fillAverageRating);
+    }
+
+    private Mono<Boolean> countersReady() {
+        if (countersBuilt.get()) {
+            return Mono.just(true);
+        }
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(FeedbackCounter.REBUILT_MARKER_ID)),
+                        FeedbackCounter.class)
+                .doOnNext(built -> {
+                    if (built) {
+                        countersBuilt.set(true);
+                    }
+                });
+    }
+
+    private Mono<Void> applyCounterDeltas(Map<String, Long> deltas) {
+        if (!countersEnabled || deltas.isEmpty()) {
+            return Mono.empty();
+        }
+        return upsertAll(FeedbackCounter.class, AnalyticsCounterService.toUpserts(deltas));
+    }
+
+    private Mono<Void> applyRollupDeltas(Map<String, AnalyticsRollupService.RollupDelta> deltas) {
+        if (!rollupsEnabled || deltas.isEmpty()) {
+            return Mono.empty();
+        }
+        return upsertAll(FeedbackRollup.class, AnalyticsRollupService.toUpserts(deltas));
+    }
+
+    /**
+     * Runs the upserts concurrently. Each one is retried on its own when it loses an insert
+     * race with another node, so a $inc that succeeded is never sent twice (see BulkUpserter).
+     */
+    private Mono<Void> upsertAll(Class<?> entityClass, List<Pair<Query, Update>> upserts) {
+        return Flux.fromIterable(upserts)
+                .flatMap(upsert -> mongoTemplate.upsert(upsert.getFirst(), upsert.getSecond(), entityClass)
+                        .retryWhen(lostUpsertRace))
+                .then();
+    }
+}
@@ -0,0 +1,272 @@
+package com.feedbacksystem.feedback_reactive.service;
+
+import com.feedbacksystem.feedback_backend.dto.CursorPageDTO;
+import com.feedbacksystem.feedback_backend.dto.DashboardAnalyticsDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminSummaryDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackAdminViewDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackRequestDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSummaryDTO;
+import com.feedbacksystem.feedback_backend.dto.ReplyDTO;
+import com.feedbacksystem.feedback_backend.dto.SearchPageDTO;
+import com.feedbacksystem.feedback_backend.exception.FeedbackConflictException;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.ResolutionLog;
+import com.feedbacksystem.feedback_backend.model.User;
+import com.feedbacksystem.feedback_backend.repository.FeedbackQueries;
+import com.feedbacksystem.feedback_backend.service.FeedbackService;
+import com.feedbacksystem.feedback_reactive.repository.ReactiveFeedbackRepository;
+import com.feedbacksystem.feedback_reactive.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive version of the FeedbackService operations behind the reactive APIs.
+ * Each method follows its FeedbackService counterpart step for step; see there for the details.
+ * <p>
+ * Not covered: the asynchronous ingest queue (submissions are always stored directly)
+ * and moving the oldest comments of long threads to comment buckets.
+ *
+ * @see FeedbackService
+ */
+@Service
+public class ReactiveFeedbackService {
+
+    @Autowired
+    private ReactiveFeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private ReactiveAnalyticsService analyticsService;
+
+    @Value("${feedback.admin.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${feedback.admin.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${feedback.admin.stream-batch-size:500}")
+    private int streamBatchSize;
+
+    @Value("${feedback.search.page-size:20}")
+    private int searchPageSize;
+
+    @Value("${feedback.search.max-results:1000}")
+    private int searchMaxResults;
+
+    /**
+     * Creates and saves a new feedback submission, then counts it.
+     */
+    public Mono<Feedback> submitFeedback(FeedbackRequestDTO requestDTO, String studentId) {
+        Feedback feedback = Feedback.builder()
+                .studentId(studentId)
+                .isAnonymous(requestDTO.getIsAnonymous())
+                .content(requestDTO.getContent())
+                .rating(requestDTO.getRating())
+                .category(requestDTO.getCategory())
+                .status("open") // Default status
+                .createdAt(LocalDateTime.now())
+                .thread(new ArrayList<>())
+                .resolutionLog(null)
+                .build();
+
+        return feedbackRepository.save(feedback)
+                .flatMap(saved -> analyticsService.recordSubmitted(saved).thenReturn(saved));
+    }
+
+    public Mono<List<FeedbackSummaryDTO>> getFeedbackByStudentId(String studentId) {
+        return feedbackRepository.findSummariesByStudentId(studentId).collectList();
+    }
+
+    public Mono<Feedback> getFeedbackByIdForStudent(String feedbackId, String studentId) {
+        return feedbackRepository.findById(feedbackId)
+                .filter(feedback -> studentId.equals(feedback.getStudentId()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Feedback not found with id: " + feedbackId)));
+    }
+
+    /**
+     * One page of the admin list, newest first, with keyset pagination on (createdAt, id).
+     */
+    public Mono<CursorPageDTO<FeedbackAdminSummaryDTO>> getFeedbackPageForAdmin(String status, String category,
+                                                                            String cursor, Integer limit) {
+        int pageSize = (limit == null || limit <= 0) ? defaultPageSize : Math.min(limit, maxPageSize);
+
+        LocalDateTime afterCreatedAt = null;
+        String afterId = null;
+        if (StringUtils.hasText(cursor)) {
+            // A tampered or stale cursor is an IllegalArgumentException (400 Bad Request)
+            FeedbackQueries.Cursor after = FeedbackQueries.decodeCursor(cursor);
+            afterCreatedAt = after.createdAt();
+            afterId = after.id();
+        }
+
+        // Fetch one extra item to find out whether there is a next page
+        return feedbackRepository.findSummaryPage(
+                        StringUtils.hasText(status) ? status : null,
+                        StringUtils.hasText(category) ? category : null,
+                        afterCreatedAt, afterId, pageSize + 1)
+                .collectList()
+                .flatMap(page -> {
+                    String nextCursor = null;
+                    if (page.size() > pageSize) {
+                        page = page.subList(0, pageSize);
+                        FeedbackSummaryDTO last = page.get(pageSize - 1);
+                        nextCursor = FeedbackQueries.encodeCursor(last.getCreatedAt(), last.getId());
+                    }
+                    String next = nextCursor;
+                    return toAdminViews(page).map(views -> new CursorPageDTO<>(views, next));
+                });
+    }
+
+    /**
+     * All matching feedback as admin views, newest first. Student names are resolved one
+     * batch at a time, and the cursor only advances as fast as the client reads.
+     */
+    public Flux<FeedbackAdminSummaryDTO> streamFeedbackForAdmin(String status, String category) {
+        return feedbackRepository.streamSummaries(
+                        StringUtils.hasText(status) ? status : null,
+                        StringUtils.hasText(category) ? category : null,
+                        streamBatchSize)
+                .buffer(streamBatchSize)
+                .concatMap(batch -> toAdminViews(batch).flatMapIterable(views -> views));
+    }
+
+    /**
+     * Full-text search for the admin dashboard, most relevant first.
+     */
+    public Mono<SearchPageDTO<FeedbackAdminSummaryDTO>> searchFeedbackForAdmin(FeedbackSearchCriteria criteria) {
+        if (!StringUtils.hasText(criteria.getQ())) {
+            return Mono.error(new IllegalArgumentException("Search text (q) is required"));
+        }
+        int pageSize = (criteria.getLimit() == null || criteria.getLimit() <= 0)
+                ? searchPageSize : Math.min(criteria.getLimit(), maxPageSize);
+        int page = Math.max(criteria.getPage(), 0);
+        int skip = page * pageSize;
+        if (skip >= searchMaxResults) {
+            return Mono.error(new IllegalArgumentException("Search results are limited to the first "
+                    + searchMaxResults + "; please narrow the search"));
+        }
+
+        // Fetch one extra hit to find out whether there is a next page
+        return feedbackRepository.searchSummaries(criteria, skip, pageSize + 1)
+                .collectList()
+                .flatMap(hits -> {
+                    boolean hasMore = hits.size() > pageSize && skip + pageSize < searchMaxResults;
+                    List<FeedbackSearchHitDTO> pageHits = (hits.size() > pageSize) ? hits.subList(0, pageSize) : hits;
+                    return toAdminViews(pageHits).map(views -> new SearchPageDTO<>(views, page, hasMore));
+                });
+    }
+
+    /**
+     * Adds the student's name and email to each feedback, respecting anonymity.
+     * Students are fetched with a single findAllById for the whole list.
+     */
+    private Mono<List<FeedbackAdminSummaryDTO>> toAdminViews(List<? extends FeedbackSummaryDTO> feedbackList) {
+        List<String> studentIds = feedbackList.stream()
+                .filter(feedback -> !feedback.isAnonymous())
+                .map(FeedbackSummaryDTO::getStudentId)
+                .distinct()
+                .toList();
+
+        return userRepository.findAllById(studentIds)
+                .collectMap(User::getId)
+                .map(userMap -> feedbackList.stream()
+                        .map(feedback -> FeedbackAdminSummaryDTO.of(feedback, userMap.get(feedback.getStudentId())))
+                        .toList());
+    }
+
+    public Mono<DashboardAnalyticsDTO> getDashboardAnalytics() {
+        return analyticsService.getDashboard();
+    }
+
+    public Mono<FeedbackAdminViewDTO> getFeedbackByIdForAdmin(String feedbackId) {
+        return findCurrent(feedbackId).flatMap(feedback -> {
+            if (feedback.isAnonymous()) {
+                return Mono.just(new FeedbackAdminViewDTO(feedback, "Anonymous", ""));
+            }
+            return userRepository.findById(feedback.getStudentId())
+                    .map(student -> new FeedbackAdminViewDTO(feedback, student.getName(), student.getEmail()))
+                    // Handle case where user might be deleted
+                    .defaultIfEmpty(new FeedbackAdminViewDTO(feedback, "Unknown User", ""));
+        });
+    }
+
+    /**
+     * Sets the status with one atomic update; see FeedbackService#updateFeedbackStatus.
+     */
+    public Mono<Feedback> updateFeedbackStatus(String feedbackId, String newStatus, String adminUserId,
+                                               Long expectedVersion) {
+        ResolutionLog resolutionLog = "resolved".equals(newStatus)
+                ? new ResolutionLog(adminUserId, null, LocalDateTime.now())
+                : null;
+
+        return Mono.defer(() -> findStatus(feedbackId).flatMap(current -> {
+                    if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                        return findCurrent(feedbackId)
+                                .flatMap(latest -> Mono.<Feedback>error(new FeedbackConflictException(latest)));
+                    }
+                    if (newStatus.equals(current.getStatus())) {
+                        return findCurrent(feedbackId);
+                    }
+                    String oldStatus = current.getStatus();
+                    return feedbackRepository.setStatus(feedbackId, oldStatus, newStatus, resolutionLog, expectedVersion)
+                            // Only resolving replaces the resolutionLog, so on a reopen the stored one is still the old one
+                            .flatMap(feedback -> analyticsService.recordStatusChange(oldStatus, newStatus)
+                                    .then(analyticsService.recordResolutionChange(feedback.getCreatedAt(),
+                                            feedback.getCategory(), oldStatus, resolvedAt(feedback),
+                                            newStatus, resolvedAt(feedback)))
+                                    .thenReturn(feedback));
+                }))
+                // Empty if its status or version changed since it was read; then look again
+                .repeatWhenEmpty(Integer.MAX_VALUE, attempts -> attempts);
+    }
+
+    /**
+     * Appends a reply with one atomic update; see FeedbackService#postReplyToFeedback.
+     */
+    public Mono<Feedback> postReplyToFeedback(String feedbackId, ReplyDTO replyDTO, String adminUserId) {
+        Comment newComment = new Comment(adminUserId, replyDTO.getContent(), LocalDateTime.now());
+
+        return Mono.defer(() -> findStatus(feedbackId).flatMap(current -> {
+                    if (replyDTO.getVersion() != null && !replyDTO.getVersion().equals(current.getVersion())) {
+                        // Someone else changed it since the admin loaded it
+                        return findCurrent(feedbackId)
+                                .flatMap(latest -> Mono.<Feedback>error(new FeedbackConflictException(latest)));
+                    }
+                    String oldStatus = current.getStatus();
+                    return feedbackRepository.pushReply(feedbackId, newComment, oldStatus, replyDTO.getVersion())
+                            // Open feedback was marked in_progress by the same update on the server
+                            .flatMap(feedback -> "open".equals(oldStatus)
+                                    ? analyticsService.recordStatusChange("open", "in_progress").thenReturn(feedback)
+                                    : Mono.just(feedback));
+                }))
+                // Empty if its status or version changed since it was read; then look again
+                .repeatWhenEmpty(Integer.MAX_VALUE, attempts -> attempts);
+    }
+
+    private Mono<Feedback> findCurrent(String feedbackId) {
+        return feedbackRepository.findById(feedbackId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Feedback not found with id: " + feedbackId)));
+    }
+
+    private Mono<Feedback> findStatus(String feedbackId) {
+        return feedbackRepository.findStatusById(feedbackId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Feedback not found with id: " + feedbackId)));
+    }
+
+    private static LocalDateTime resolvedAt(Feedback feedback) {
+        return (feedback.getResolutionLog() != null) ? feedback.getResolutionLog().getTimestamp() : null;
+    }
+}
@@ -0,0 +1,144 @@
+package com.feedbacksystem.feedback_backend.benchmark;
+
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchCriteria;
+import com.feedbacksystem.feedback_backend.dto.FeedbackSearchHitDTO;
+import com.feedbacksystem.feedback_backend.model.Comment;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepositoryImpl;
+import com.feedbacksystem.feedback_backend.repository.IndexManager;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures search latency on a 1M-document corpus.
+ * <p>
+ * Needs a MongoDB server. On the first run the corpus is generated into the
+ * "feedback_search_benchmark" database (this takes a few minutes); later runs reuse it.
+ * Run with:
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:exec \
+ *     -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main FeedbackSearchBenchmark"
+ * </pre>
+ * Use -jvmArgs "-Dbenchmark.mongo.uri=..." (after the class name) for another server.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeedbackSearchBenchmark {
+
+	private static final int CORPUS_SIZE = 1_000_000;
+	private static final int BATCH_SIZE = 10_000;
+	private static final String[] CATEGORIES = {"Facilities", "Courses", "Faculty", "Library", "Hostel", "Canteen"};
+	private static final String[] STATUSES = {"open", "in_progress", "resolved"};
+
+	private MongoClient client;
+	private FeedbackRepositoryImpl repository;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		String uri = System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017");
+		client = MongoClients.create(uri);
+		MongoTemplate mongoTemplate = new MongoTemplate(client, "feedback_search_benchmark");
+
+		long existing = mongoTemplate.estimatedCount(Feedback.class);
+		if (existing < CORPUS_SIZE) {
+			mongoTemplate.dropCollection(Feedback.class);
+			seed(mongoTemplate);
+		}
+		mongoTemplate.indexOps(Feedback.class).createIndex(IndexManager.feedbackTextIndex());
+
+		repository = new FeedbackRepositoryImpl();
+		ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		client.close();
+	}
+
+	@Benchmark
+	public List<FeedbackSearchHitDTO> commonWord() {
+		// Matches a large share of the corpus; the ranking has to score all of them
+		return repository.searchSummaries(criteria("wifi"), 0, 21);
+	}
+
+	@Benchmark
+	public List<FeedbackSearchHitDTO> rareWord() {
+		return repository.searchSummaries(criteria("projector"), 0, 21);
+	}
+
+	@Benchmark
+	public List<FeedbackSearchHitDTO> twoWordsWithFilters() {
+		FeedbackSearchCriteria criteria = criteria("slow internet");
+		criteria.setStatus("open");
+		criteria.setCategory("Hostel");
+		criteria.setMaxRating(2);
+		return repository.searchSummaries(criteria, 0, 21);
+	}
+
+	@Benchmark
+	public List<FeedbackSearchHitDTO> fifthPage() {
+		return repository.searchSummaries(criteria("exam"), 80, 21);
+	}
+
+	private static FeedbackSearchCriteria criteria(String q) {
+		FeedbackSearchCriteria criteria = new FeedbackSearchCriteria();
+		criteria.setQ(q);
+		return criteria;
+	}
+
+	/**
+	 * Generates feedback whose words follow a skewed distribution, so some
+	 * words are very common and others rare, like real comments.
+	 */
+	private static void seed(MongoTemplate mongoTemplate) {
+		String[] common = {"wifi", "slow", "class", "exam", "food", "room", "teacher", "clean", "late", "good"};
+		String[] rare = {"projector", "elevator", "scholarship", "parking", "laboratory", "printer", "internet",
+				"timetable", "assignment", "hygiene", "water", "fan", "bench", "noise", "security"};
+		Random random = new Random(42);
+		LocalDateTime start = LocalDateTime.now().minusYears(2);
+
+		for (int inserted = 0; inserted < CORPUS_SIZE; inserted += BATCH_SIZE) {
+			List<Feedback> batch = new ArrayList<>(BATCH_SIZE);
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				StringBuilder content = new StringBuilder();
+				int words = 8 + random.nextInt(25);
+				for (int w = 0; w < words; w++) {
+					String[] pool = random.nextInt(10) < 7 ? common : rare;
+					// Squaring the random number skews picks towards the start of each pool
+					double skew = random.nextDouble();
+					content.append(pool[(int) (skew * skew * pool.length)]).append(' ');
+				}
+				List<Comment> thread = new ArrayList<>();
+				if (random.nextInt(3) == 0) {
+					thread.add(new Comment("admin", "We are looking into the " + rare[random.nextInt(rare.length)],
+							LocalDateTime.now()));
+				}
+				batch.add(Feedback.builder()
+						.studentId("student-" + random.nextInt(20_000))
+						.content(content.toString().trim())
+						.rating(1 + random.nextInt(5))
+						.category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+						.status(STATUSES[random.nextInt(STATUSES.length)])
+						.createdAt(start.plusMinutes(random.nextInt(2 * 365 * 24 * 60)))
+						.thread(thread)
+						.build());
+			}
+			mongoTemplate.insertAll(batch);
+		}
+	}
+
+}
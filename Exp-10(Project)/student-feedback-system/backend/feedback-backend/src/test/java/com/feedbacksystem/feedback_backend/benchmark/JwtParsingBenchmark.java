@@ -0,0 +1,70 @@
+package com.feedbacksystem.feedback_backend.benchmark;
+
+import com.feedbacksystem.feedback_backend.model.Role;
+import com.feedbacksystem.feedback_backend.security.JwtTokenProvider;
+import com.feedbacksystem.feedback_backend.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JWT filter's old verification path (validate, then parse again
+ * for the username, with a new parser each time) against parseAndValidate.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:exec \
+ *     -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main JwtParsingBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+	private static final String SECRET =
+			"MySuperSecureSecretKeyForHS512AlgorithmMustBeAtLeast512BitsLongSoIAmMakingThisStringVeryLong";
+
+	private SecretKey key;
+	private JwtTokenProvider uncachedProvider;
+	private JwtTokenProvider cachedProvider;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		key = Keys.hmacShaKeyFor(SECRET.getBytes());
+		uncachedProvider = new JwtTokenProvider(SECRET, 86_400_000L, 0, 0);
+		cachedProvider = new JwtTokenProvider(SECRET, 86_400_000L, 10_000, 300_000L);
+
+		UserPrincipal principal = new UserPrincipal("64f0c0ffee", "Test Student", "student@example.com", null, Role.ROLE_STUDENT, 0);
+		token = cachedProvider.generateToken(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	@Benchmark
+	public String legacyValidateThenParse() {
+		// What the filter used to do: two parser builds and two signature checks
+		Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+	}
+
+	@Benchmark
+	public Claims parseAndValidateUncached() {
+		return uncachedProvider.parseAndValidate(token);
+	}
+
+	@Benchmark
+	public Claims parseAndValidateCached() {
+		return cachedProvider.parseAndValidate(token);
+	}
+
+}
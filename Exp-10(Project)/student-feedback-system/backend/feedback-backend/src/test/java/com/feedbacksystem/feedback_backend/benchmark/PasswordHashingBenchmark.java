@@ -0,0 +1,58 @@
+package com.feedbacksystem.feedback_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How the BCrypt strength trades login latency for login throughput.
+ * <p>
+ * loginSingle is one login at a time: its score is the hash latency a user waits for.
+ * loginSaturated runs logins on every core at once, i.e. the most logins per second the
+ * machine could serve if nothing else ran; with security.password.hash-threads at half
+ * the cores, the API tops out at about half of that. Each strength step halves it.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile org.codehaus.mojo:exec-maven-plugin:3.5.0:exec \
+ *     -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main PasswordHashingBenchmark"
+ * </pre>
+ */
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	@Param({"8", "10", "12"})
+	public int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String hash;
+
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		hash = encoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public boolean loginSingle() {
+		return encoder.matches(PASSWORD, hash);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	@Threads(Threads.MAX)
+	public boolean loginSaturated() {
+		return encoder.matches(PASSWORD, hash);
+	}
+
+}
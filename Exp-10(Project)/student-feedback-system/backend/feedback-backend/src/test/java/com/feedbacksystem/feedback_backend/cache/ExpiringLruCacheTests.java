@@ -0,0 +1,44 @@
+package com.feedbacksystem.feedback_backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringLruCacheTests {
+
+	@Test
+	void evictsLeastRecentlyUsedEntryWhenFull() {
+		ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 60_000);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.get("a"); // "b" is now the least recently used entry
+		cache.put("c", "3");
+
+		assertNull(cache.get("b"));
+		assertEquals("1", cache.get("a"));
+		assertEquals("3", cache.get("c"));
+		assertEquals(1L, cache.stats().get("evictions"));
+	}
+
+	@Test
+	void expiredEntriesAreMisses() {
+		ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 60_000);
+		cache.put("a", "1", System.currentTimeMillis() - 1);
+
+		assertNull(cache.get("a"));
+		assertEquals(0L, cache.stats().get("hits"));
+		assertEquals(1L, cache.stats().get("misses"));
+	}
+
+	@Test
+	void invalidateRemovesEntry() {
+		ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(10, 60_000);
+		cache.put("a", "1");
+		cache.invalidate("a");
+
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.feedbacksystem.feedback_backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightCacheTests {
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(60_000);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return cache.get("key", () -> {
+					loads.incrementAndGet();
+					sleep(100);
+					return 42;
+				});
+			}));
+		}
+		start.countDown();
+		for (Future<Integer> result : results) {
+			assertEquals(42, result.get());
+		}
+		executor.shutdown();
+
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void failedLoadsAreNotCached() {
+		SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(60_000);
+
+		assertThrows(IllegalStateException.class, () -> cache.get("key", () -> {
+			throw new IllegalStateException("boom");
+		}));
+		assertEquals(7, cache.get("key", () -> 7));
+	}
+
+	private static void sleep(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
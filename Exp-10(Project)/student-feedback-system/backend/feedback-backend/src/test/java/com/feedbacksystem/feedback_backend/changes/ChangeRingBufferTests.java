@@ -0,0 +1,80 @@
+package com.feedbacksystem.feedback_backend.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ChangeRingBufferTests {
+
+	@Test
+	void everyReaderSeesEveryItemInOrder() {
+		ChangeRingBuffer<String> buffer = new ChangeRingBuffer<>(8);
+		ChangeRingBuffer<String>.Reader first = buffer.reader();
+		ChangeRingBuffer<String>.Reader second = buffer.reader();
+
+		buffer.publish("a");
+		buffer.publish("b");
+
+		assertEquals("a", first.poll());
+		assertEquals("b", first.poll());
+		assertNull(first.poll());
+		assertEquals("a", second.poll());
+		assertEquals(1, second.getLag());
+		assertEquals(0, first.takeMissed());
+	}
+
+	@Test
+	void slowReaderSkipsOverwrittenItemsAndReportsThem() {
+		ChangeRingBuffer<Integer> buffer = new ChangeRingBuffer<>(4);
+		ChangeRingBuffer<Integer>.Reader reader = buffer.reader();
+
+		for (int i = 1; i <= 10; i++) {
+			buffer.publish(i);
+		}
+
+		// Only the last four are still there
+		assertEquals(7, reader.poll());
+		assertEquals(6, reader.takeMissed());
+		assertEquals(8, reader.poll());
+		reader.markProcessed();
+		assertEquals(8, reader.getProcessed());
+		assertNull(buffer.get(6));
+		assertEquals(10, buffer.get(10));
+	}
+
+	@Test
+	void concurrentReaderNeverSeesATornOrReorderedItem() throws Exception {
+		ChangeRingBuffer<Long> buffer = new ChangeRingBuffer<>(16);
+		ChangeRingBuffer<Long>.Reader reader = buffer.reader();
+		long total = 200_000;
+		AtomicReference<String> failure = new AtomicReference<>();
+
+		Thread consumer = new Thread(() -> {
+			long last = 0;
+			while (last < total) {
+				Long item = reader.poll();
+				if (item == null) {
+					Thread.onSpinWait();
+					continue;
+				}
+				// Items are their own sequence numbers: skipping is fine, going back or repeating is not
+				if (item <= last) {
+					failure.compareAndSet(null, "read " + item + " after " + last);
+				}
+				last = item;
+			}
+		});
+		consumer.start();
+		for (long i = 1; i <= total; i++) {
+			buffer.publish(i);
+		}
+		consumer.join(10_000);
+
+		assertNull(failure.get());
+		assertEquals(total, buffer.getCursor());
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.feedbacksystem.feedback_backend.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SubmissionJournalTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void sealedSegmentIsDeletedOnceAllEntriesAreFlushed() throws Exception {
+		SubmissionJournal journal = new SubmissionJournal(directory, 2, false);
+		SubmissionJournal.Segment first = journal.append(bytes("{\"n\":1}"));
+		journal.append(bytes("{\"n\":2}"));
+		journal.append(bytes("{\"n\":3}")); // rolls over to a second segment
+
+		assertEquals(2, journal.segmentCount());
+		journal.markFlushed(first);
+		assertEquals(2, journal.segmentCount());
+		journal.markFlushed(first);
+		assertEquals(1, journal.segmentCount());
+	}
+
+	@Test
+	void unflushedEntriesAreLeftForReplay() throws Exception {
+		SubmissionJournal journal = new SubmissionJournal(directory, 10, false);
+		journal.append(bytes("{\"n\":1}"));
+		journal.append(bytes("{\"n\":2}"));
+		journal.close();
+
+		SubmissionJournal reopened = new SubmissionJournal(directory, 10, false);
+		List<Path> leftovers = reopened.existingSegments();
+		assertEquals(1, leftovers.size());
+		assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), SubmissionJournal.readEntries(leftovers.get(0)));
+
+		// New entries go to a new segment, never into one that is being replayed
+		reopened.append(bytes("{\"n\":3}"));
+		assertEquals(2, reopened.existingSegments().size());
+	}
+
+	private static byte[] bytes(String entry) {
+		return entry.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,75 @@
+package com.feedbacksystem.feedback_backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryRateLimitStoreTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	private final AtomicLong clock = new AtomicLong(42 * SECOND);
+	private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(clock::get);
+	private final RateLimitRule rule = RateLimitRule.parse("POST /api/auth/login ip 3/3s");
+
+	private long acquire(String key) {
+		return store.tryAcquire(key, rule.emissionIntervalNanos(), rule.burstToleranceNanos());
+	}
+
+	@Test
+	void allowsTheBurstThenOneRequestPerInterval() {
+		assertEquals(0, acquire("a"));
+		assertEquals(0, acquire("a"));
+		assertEquals(0, acquire("a"));
+		assertEquals(SECOND, acquire("a"));
+		// Other clients have their own allowance
+		assertEquals(0, acquire("b"));
+
+		clock.addAndGet(SECOND);
+		assertEquals(0, acquire("a"));
+		assertEquals(SECOND, acquire("a"));
+	}
+
+	@Test
+	void peekingLeavesTheAllowanceAlone() {
+		assertEquals(0, store.peek("a", rule.emissionIntervalNanos(), rule.burstToleranceNanos()));
+		acquire("a");
+		acquire("a");
+		acquire("a");
+		assertEquals(SECOND, store.peek("a", rule.emissionIntervalNanos(), rule.burstToleranceNanos()));
+		assertEquals(SECOND, store.peek("a", rule.emissionIntervalNanos(), rule.burstToleranceNanos()));
+
+		clock.addAndGet(SECOND);
+		assertEquals(0, store.peek("a", rule.emissionIntervalNanos(), rule.burstToleranceNanos()));
+		assertEquals(0, acquire("a"));
+	}
+
+	@Test
+	void forgetsClientsWhoseAllowanceHasRefilled() {
+		acquire("a");
+		acquire("a");
+		acquire("b");
+
+		clock.addAndGet(SECOND);
+		store.evictIdle();
+		assertEquals(1, store.size()); // "b" had used one request, refilled after one interval
+
+		clock.addAndGet(SECOND);
+		store.evictIdle();
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	void parsesRules() {
+		RateLimitRule parsed = RateLimitRule.parse(" post /api/feedback/submit USER 10/1m ");
+
+		assertEquals(new RateLimitRule("POST", "/api/feedback/submit", "user", 10, Duration.ofMinutes(1)), parsed);
+		assertEquals(6 * SECOND, parsed.emissionIntervalNanos());
+		assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login 10/1m"));
+		assertThrows(IllegalArgumentException.class, () -> RateLimitRule.parse("POST /api/auth/login email 10/1m"));
+	}
+}
@@ -0,0 +1,41 @@
+package com.feedbacksystem.feedback_backend.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedbackQueriesTests {
+
+	@Test
+	void cursorRoundTrips() {
+		LocalDateTime createdAt = LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_000_000);
+		FeedbackQueries.Cursor cursor = FeedbackQueries.decodeCursor(FeedbackQueries.encodeCursor(createdAt, "abc"));
+
+		assertEquals(new FeedbackQueries.Cursor(createdAt, "abc"), cursor);
+	}
+
+	@Test
+	void tamperedCursorsAreInvalid() {
+		String badDate = Base64.getUrlEncoder().encodeToString("yesterday|abc".getBytes(StandardCharsets.UTF_8));
+
+		for (String cursor : new String[] {"not base64!", "bm8tc2VwYXJhdG9y", badDate}) {
+			IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+					() -> FeedbackQueries.decodeCursor(cursor));
+			assertEquals("Invalid cursor", ex.getMessage());
+		}
+	}
+
+	@Test
+	void statusQueryOnlyMatchesTheStatusItWasReadWith() {
+		assertEquals(new Document("id", "abc").append("version", 4L).append("status", "open"),
+				FeedbackQueries.statusQuery("abc", "open", 4L).getQueryObject());
+		assertEquals(new Document("id", "abc").append("status", "resolved"),
+				FeedbackQueries.statusQuery("abc", "resolved", null).getQueryObject());
+	}
+}
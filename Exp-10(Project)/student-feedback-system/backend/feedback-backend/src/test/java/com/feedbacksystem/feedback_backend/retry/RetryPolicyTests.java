@@ -0,0 +1,56 @@
+package com.feedbacksystem.feedback_backend.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTests {
+
+	private final RetryPolicy retryPolicy = new RetryPolicy(3, 1, 10);
+
+	@Test
+	void retriesRetryableFailuresUntilSuccess() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = retryPolicy.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new DuplicateKeyException("lost race");
+			}
+			return "done";
+		}, ex -> ex instanceof DuplicateKeyException);
+
+		assertEquals("done", result);
+		assertEquals(3, attempts.get());
+	}
+
+	@Test
+	void givesUpAfterMaxAttemptsAndOnOtherFailures() {
+		AtomicInteger attempts = new AtomicInteger();
+		assertThrows(DuplicateKeyException.class, () -> retryPolicy.execute(() -> {
+			attempts.incrementAndGet();
+			throw new DuplicateKeyException("lost race");
+		}, ex -> ex instanceof DuplicateKeyException));
+		assertEquals(3, attempts.get());
+
+		attempts.set(0);
+		assertThrows(IllegalStateException.class, () -> retryPolicy.execute(() -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("not retryable");
+		}, ex -> ex instanceof DuplicateKeyException));
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	void backoffIsJitteredAndCapped() {
+		for (int attempt = 1; attempt <= 10; attempt++) {
+			long backoff = retryPolicy.backoffMs(attempt);
+			assertTrue(backoff >= 0 && backoff <= 10);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.model.FeedbackRollup;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Needs a running MongoDB (spring.data.mongodb.uri); run with -Dmongo.integration=true.
+ */
+@SpringBootTest(properties = "feedback.analytics.counters.enabled=false")
+@EnabledIfSystemProperty(named = "mongo.integration", matches = "true")
+class AnalyticsRollupServiceTests {
+
+	@Autowired
+	private AnalyticsRollupService analyticsRollupService;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Test
+	void overlappingRebuildsNeverDoubleTheBuckets() {
+		String category = "rollup-test-" + UUID.randomUUID();
+		LocalDateTime createdAt = LocalDateTime.now().minusDays(3);
+		List<Feedback> saved = new ArrayList<>();
+		for (int rating = 1; rating <= 3; rating++) {
+			saved.add(feedbackRepository.save(Feedback.builder()
+					.studentId("rollup-test")
+					.content("Rollup test " + rating)
+					.rating(rating)
+					.category(category)
+					.status("open")
+					.createdAt(createdAt)
+					.build()));
+		}
+
+		try {
+			CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(analyticsRollupService::rebuild);
+			CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(analyticsRollupService::rebuild);
+			first.join();
+			second.join();
+
+			FeedbackRollup bucket = mongoTemplate.findById(
+					FeedbackRollup.idOf(createdAt.toLocalDate().toString(), category), FeedbackRollup.class);
+			assertEquals(3, bucket.getSubmissions());
+			assertEquals(6, bucket.getRatingSum());
+		} finally {
+			feedbackRepository.deleteAll(saved);
+			analyticsRollupService.rebuild();
+		}
+	}
+
+}
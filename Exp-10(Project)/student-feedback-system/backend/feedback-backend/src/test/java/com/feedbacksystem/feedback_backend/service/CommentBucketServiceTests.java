@@ -0,0 +1,81 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.ReplyDTO;
+import com.feedbacksystem.feedback_backend.model.CommentBucket;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Needs a running MongoDB (spring.data.mongodb.uri); run with -Dmongo.integration=true.
+ */
+@SpringBootTest(properties = {
+		"feedback.analytics.counters.enabled=false",
+		"feedback.analytics.rollups.enabled=false",
+		"feedback.thread.bucketing.enabled=true",
+		"feedback.thread.inline-limit=2",
+		"feedback.thread.bucket-size=3"
+})
+@EnabledIfSystemProperty(named = "mongo.integration", matches = "true")
+class CommentBucketServiceTests {
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@Test
+	void archivingKeepsTheVersionTheAdminWasGiven() {
+		Feedback feedback = feedbackRepository.save(Feedback.builder()
+				.studentId("bucket-test")
+				.content("Long thread")
+				.rating(3)
+				.category("Facilities")
+				.status("open")
+				.createdAt(LocalDateTime.now())
+				.thread(new ArrayList<>())
+				.build());
+
+		try {
+			Long version = feedbackRepository.findById(feedback.getId()).orElseThrow().getVersion();
+			// The fifth reply fills inline-limit + bucket-size, so it archives a page
+			for (int i = 0; i < 5; i++) {
+				ReplyDTO reply = new ReplyDTO();
+				reply.setContent("reply " + i);
+				reply.setVersion(version);
+				Feedback returned = feedbackService.postReplyToFeedback(feedback.getId(), reply, "admin");
+				version = returned.getVersion();
+			}
+
+			Feedback stored = feedbackRepository.findById(feedback.getId()).orElseThrow();
+			assertEquals(3, stored.getArchivedComments());
+			assertEquals(2, stored.getThread().size());
+			assertEquals(stored.getVersion(), version);
+
+			// The version from the archiving reply is still good for the next change
+			ReplyDTO next = new ReplyDTO();
+			next.setContent("after archiving");
+			next.setVersion(version);
+			feedbackService.postReplyToFeedback(feedback.getId(), next, "admin");
+		} finally {
+			feedbackRepository.deleteById(feedback.getId());
+			mongoTemplate.remove(Query.query(Criteria.where("feedbackId").is(feedback.getId())), CommentBucket.class);
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.feedbacksystem.feedback_backend.service;
+
+import com.feedbacksystem.feedback_backend.dto.ReplyDTO;
+import com.feedbacksystem.feedback_backend.model.Feedback;
+import com.feedbacksystem.feedback_backend.repository.FeedbackRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Needs a running MongoDB (spring.data.mongodb.uri); run with -Dmongo.integration=true.
+ */
+@SpringBootTest(properties = {
+		"feedback.analytics.counters.enabled=false",
+		"feedback.analytics.rollups.enabled=false"
+})
+@EnabledIfSystemProperty(named = "mongo.integration", matches = "true")
+class FeedbackServiceConcurrencyTests {
+
+	private static final int THREADS = 16;
+	private static final int REPLIES_PER_THREAD = 50;
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private FeedbackRepository feedbackRepository;
+
+	@Test
+	void parallelRepliesAreNeverLost() throws Exception {
+		Feedback feedback = feedbackRepository.save(Feedback.builder()
+				.studentId("concurrency-test")
+				.content("Parallel replies")
+				.rating(3)
+				.category("Facilities")
+				.status("open")
+				.createdAt(LocalDateTime.now())
+				.thread(new ArrayList<>())
+				.build());
+
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+			List<Future<?>> results = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				String adminId = "admin-" + t;
+				results.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < REPLIES_PER_THREAD; i++) {
+						ReplyDTO reply = new ReplyDTO();
+						reply.setContent(adminId + " reply " + i);
+						feedbackService.postReplyToFeedback(feedback.getId(), reply, adminId);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> result : results) {
+				result.get();
+			}
+			executor.shutdown();
+
+			Feedback stored = feedbackRepository.findById(feedback.getId()).orElseThrow();
+			assertEquals(THREADS * REPLIES_PER_THREAD, stored.getThread().size());
+			assertEquals("in_progress", stored.getStatus());
+		} finally {
+			feedbackRepository.deleteById(feedback.getId());
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+// k6 load test for the student endpoints: listing one's own feedback and submitting new feedback.
+// Every virtual user keeps one connection busy, so VUS is the number of concurrent connections.
+// Usually started by run-comparison.sh; see README.md.
+import http from "k6/http";
+import { check } from "k6";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const MODE = __ENV.MODE || "platform";
+const VUS = Number(__ENV.VUS || 1000);
+const DURATION = __ENV.DURATION || "60s";
+const STUDENTS = Number(__ENV.STUDENTS || 50);
+const SUBMIT_RATIO = Number(__ENV.SUBMIT_RATIO || 0.05);
+const CATEGORIES = ["Facilities", "Courses", "Faculty", "Administration", "Other"];
+
+const JSON_HEADERS = { "Content-Type": "application/json" };
+
+export const options = {
+  scenarios: {
+    load: { executor: "constant-vus", vus: VUS, duration: DURATION },
+  },
+  setupTimeout: "300s",
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+};
+
+// Registers the test students (an "already taken" answer is fine) and logs each of them in once
+export function setup() {
+  const tokens = [];
+  for (let i = 0; i < STUDENTS; i++) {
+    const credentials = { email: `loadtest-${i}@example.com`, password: "loadtest-password" };
+    http.post(`${BASE_URL}/api/auth/register`,
+      JSON.stringify(Object.assign({ name: `Load Test ${i}` }, credentials)), { headers: JSON_HEADERS });
+    const login = http.post(`${BASE_URL}/api/auth/login`, JSON.stringify(credentials), { headers: JSON_HEADERS });
+    if (!check(login, { "logged in": (r) => r.status === 200 })) {
+      throw new Error(`Login failed for ${credentials.email}: ${login.status}`);
+    }
+    tokens.push(login.json("token"));
+  }
+  return { tokens };
+}
+
+export default function (data) {
+  const params = {
+    headers: Object.assign({ Authorization: `Bearer ${data.tokens[__VU % data.tokens.length]}` }, JSON_HEADERS),
+  };
+
+  if (Math.random() < SUBMIT_RATIO) {
+    const feedback = {
+      content: `Load test feedback from VU ${__VU}, iteration ${__ITER}`,
+      rating: 1 + Math.floor(Math.random() * 5),
+      category: CATEGORIES[Math.floor(Math.random() * CATEGORIES.length)],
+      isAnonymous: false,
+    };
+    const res = http.post(`${BASE_URL}/api/feedback/submit`, JSON.stringify(feedback), params);
+    check(res, { "submitted": (r) => r.status === 200 || r.status === 202 });
+  } else {
+    const res = http.get(`${BASE_URL}/api/feedback/my-feedback`, params);
+    check(res, { "listed": (r) => r.status === 200 });
+  }
+}
+
+// Writes one CSV line: mode, connections, requests/s, p50 ms, p99 ms, error %
+export function handleSummary(data) {
+  const m = data.metrics;
+  const line = [
+    MODE,
+    VUS,
+    m.http_reqs.values.rate.toFixed(1),
+    m.http_req_duration.values["p(50)"].toFixed(1),
+    m.http_req_duration.values["p(99)"].toFixed(1),
+    (m.http_req_failed.values.rate * 100).toFixed(2),
+  ].join(",");
+  return {
+    stdout: `${line}\n`,
+    [__ENV.RESULT_FILE || `${MODE}-${VUS}.csv`]: `${line}\n`,
+  };
+}
@@ -0,0 +1,87 @@
+// k6 load test for POST /api/auth/register.
+// The "fresh" scenario registers a new email on every iteration and measures registration throughput.
+// The "race" scenario sends the same few emails from every VU at once: each email must be accepted
+// exactly once, and every other attempt must get the "Email is already taken" answer (400).
+// See README.md.
+import http from "k6/http";
+import { check } from "k6";
+import { Counter } from "k6/metrics";
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const MODE = __ENV.MODE || "platform";
+const VUS = Number(__ENV.VUS || 200);
+const DURATION = __ENV.DURATION || "60s";
+const RACE_EMAILS = Number(__ENV.RACE_EMAILS || 20);
+const RACE_ATTEMPTS = Number(__ENV.RACE_ATTEMPTS || 10);
+
+const JSON_HEADERS = { "Content-Type": "application/json" };
+
+const registered = new Counter("registered");
+const raceRegistered = new Counter("race_registered");
+const raceTaken = new Counter("race_taken");
+
+export const options = {
+  scenarios: {
+    fresh: { executor: "constant-vus", vus: VUS, duration: DURATION, exec: "fresh" },
+    race: {
+      executor: "per-vu-iterations",
+      vus: RACE_EMAILS * RACE_ATTEMPTS,
+      iterations: 1,
+      startTime: DURATION,
+      exec: "race",
+    },
+  },
+  thresholds: {
+    // Exactly one winner per raced email; anything else means a duplicate got in (or a good insert was lost)
+    race_registered: [`count==${RACE_EMAILS}`],
+    race_taken: [`count==${RACE_EMAILS * (RACE_ATTEMPTS - 1)}`],
+  },
+  summaryTrendStats: ["avg", "p(50)", "p(95)", "p(99)", "max"],
+};
+
+// One run id for all VUs, so repeated runs against the same database never collide
+export function setup() {
+  return { run: `${Date.now()}` };
+}
+
+function register(email) {
+  const user = { name: "Register Load", email, password: "loadtest-password" };
+  return http.post(`${BASE_URL}/api/auth/register`, JSON.stringify(user), {
+    headers: JSON_HEADERS,
+    responseCallback: http.expectedStatuses(200, 400),
+  });
+}
+
+export function fresh(data) {
+  const res = register(`register-${data.run}-${__VU}-${__ITER}@example.com`);
+  if (check(res, { "registered": (r) => r.status === 200 })) {
+    registered.add(1);
+  }
+}
+
+export function race(data) {
+  const res = register(`race-${data.run}-${__VU % RACE_EMAILS}@example.com`);
+  if (res.status === 200) {
+    raceRegistered.add(1);
+  } else if (res.status === 400 && res.body.includes("already taken")) {
+    raceTaken.add(1);
+  }
+}
+
+// Writes one CSV line: mode, connections, registrations/s, p50 ms, p99 ms, error %
+export function handleSummary(data) {
+  const m = data.metrics;
+  const fresh = m["http_req_duration{scenario:fresh}"] || m.http_req_duration;
+  const line = [
+    MODE,
+    VUS,
+    (m.registered ? m.registered.values.rate : 0).toFixed(1),
+    fresh.values["p(50)"].toFixed(1),
+    fresh.values["p(99)"].toFixed(1),
+    (m.http_req_failed.values.rate * 100).toFixed(2),
+  ].join(",");
+  return {
+    stdout: `${line}\n`,
+    [__ENV.RESULT_FILE || `register-${MODE}-${VUS}.csv`]: `${line}\n`,
+  };
+}
@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+# Runs the same k6 load at each connection level against the backend in platform-thread
+# mode and then in virtual-thread mode, and prints one table with both.
+# With MODES="platform reactive" (and REACTIVE_JAR) it compares against the WebFlux build instead.
+#
+# Needs: Java 21+ (for the virtual mode), k6, mongosh, a MongoDB at $MONGO_URI, and the backend jar
+# (mvn -B package -DskipTests in ../feedback-backend).
+set -euo pipefail
+cd "$(dirname "$0")"
+
+MODES="${MODES:-platform virtual}"
+LEVELS="${LEVELS:-1000 2500 5000 10000}"
+DURATION="${DURATION:-60s}"
+PORT="${PORT:-8080}"
+# A separate database, dropped before each mode so both start from the same state
+MONGO_URI="${MONGO_URI:-mongodb://localhost:27017/feedback_loadtest}"
+JAR="${JAR:-$(ls ../feedback-backend/target/feedback-backend-*.jar | grep -v plain | head -n 1)}"
+# The jar built with mvn -Preactive (copied aside, since both builds produce the same file name)
+REACTIVE_JAR="${REACTIVE_JAR:-}"
+
+if [[ " $MODES " == *" reactive "* ]] && [ -z "$REACTIVE_JAR" ]; then
+  echo "Set REACTIVE_JAR to the jar built with mvn -Preactive to run the reactive mode" >&2
+  exit 1
+fi
+if [[ " $MODES " == *" virtual "* ]] && ! java -version 2>&1 | grep -Eq 'version "(2[1-9]|[3-9][0-9])'; then
+  echo "Java 21 or newer is needed for the virtual-thread mode" >&2
+  exit 1
+fi
+if [ "$(ulimit -n)" != "unlimited" ] && [ "$(ulimit -n)" -lt 25000 ]; then
+  echo "Raise the open-file limit first (ulimit -n 65535); 10k connections need 2 sockets each on one host" >&2
+  exit 1
+fi
+
+RESULTS="results/$(date +%Y%m%d-%H%M%S)"
+mkdir -p "$RESULTS"
+echo "mode,connections,requests_per_s,p50_ms,p99_ms,error_pct" > "$RESULTS/summary.csv"
+
+SERVER_PID=""
+trap '[ -n "$SERVER_PID" ] && kill "$SERVER_PID" 2>/dev/null || true' EXIT
+
+for MODE in $MODES; do
+  mongosh --quiet "$MONGO_URI" --eval 'db.dropDatabase()' > /dev/null
+
+  if [ "$MODE" = "reactive" ]; then
+    # Netty has no connection cap to configure; the MongoDB pool settings are the same
+    java -jar "$REACTIVE_JAR" \
+      --server.port="$PORT" \
+      --spring.data.mongodb.uri="$MONGO_URI" \
+      > "$RESULTS/$MODE-server.log" 2>&1 &
+  else
+    PROFILE_ARG=""
+    if [ "$MODE" = "virtual" ]; then
+      PROFILE_ARG="--spring.profiles.active=virtual"
+    fi
+    # Both modes get the same connection limits, so only the threading model differs.
+    # All the load comes from one IP, so the rate limits are switched off
+    java -jar "$JAR" $PROFILE_ARG \
+      --server.port="$PORT" \
+      --spring.data.mongodb.uri="$MONGO_URI" \
+      --feedback.rate-limit.enabled=false \
+      --server.tomcat.max-connections=12000 \
+      --server.tomcat.accept-count=2000 \
+      > "$RESULTS/$MODE-server.log" 2>&1 &
+  fi
+  SERVER_PID=$!
+
+  echo "Waiting for the backend ($MODE)..."
+  until curl -s -o /dev/null "http://localhost:$PORT/api/auth/login"; do sleep 1; done
+
+  for VUS in $LEVELS; do
+    echo "== $MODE, $VUS connections, $DURATION"
+    k6 run --quiet \
+      -e BASE_URL="http://localhost:$PORT" -e MODE="$MODE" -e VUS="$VUS" -e DURATION="$DURATION" \
+      -e RESULT_FILE="$RESULTS/$MODE-$VUS.csv" \
+      feedback-load.js > "$RESULTS/$MODE-$VUS.log" 2>&1 || true
+    cat "$RESULTS/$MODE-$VUS.csv" >> "$RESULTS/summary.csv"
+  done
+
+  kill "$SERVER_PID"
+  wait "$SERVER_PID" 2>/dev/null || true
+  SERVER_PID=""
+done
+
+# The same table as markdown, ready to paste into the Results section of README.md
+awk -F, 'NR == 1 { print "| " $1 " | " $2 " | " $3 " | " $4 " | " $5 " | " $6 " |"; print "| --- | ---: | ---: | ---: | ---: | ---: |"; next }
+         { print "| " $1 " | " $2 " | " $3 " | " $4 " | " $5 " | " $6 " |" }' \
+  "$RESULTS/summary.csv" > "$RESULTS/summary.md"
+
+echo
+column -s, -t < "$RESULTS/summary.csv"
+echo
+echo "Results and server logs: $RESULTS"
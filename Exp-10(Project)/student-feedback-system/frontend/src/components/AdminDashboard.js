@@ -8,7 +8,7 @@
  */
 
 // --- 1. React and Library Imports ---
-import React, { useState, useEffect, useMemo } from "react";
+import React, { useState, useEffect, useMemo, useRef } from "react";
 import { useAuth } from "../context/AuthContext"; // To get current user and logout
 import { useNavigate } from "react-router-dom"; // To navigate programmatically (e.g., logout, view details)
 import AdminService from "../services/AdminService"; // API calls for admin
@@ -40,6 +40,45 @@ ChartJS.register(
   Title        // For chart titles
 );
 
+// How long to wait before reconnecting a dropped live update stream
+const RECONNECT_DELAY_MS = 5000;
+
+// Applies an "analytics-delta" event ({ status, category, ratingSum } maps of changes)
+// to the loaded analytics, the same way the server changed its counters
+const applyAnalyticsDelta = (analytics, delta) => {
+  const applyCounts = (rows, changes) => {
+    const counts = new Map(rows.map((row) => [row._id, row.count]));
+    Object.entries(changes).forEach(([key, change]) => {
+      counts.set(key, (counts.get(key) || 0) + change);
+    });
+    // Like the server: buckets without feedback are left out, the rest sorted by name
+    return [...counts.entries()]
+      .filter(([, count]) => count > 0)
+      .sort(([a], [b]) => a.localeCompare(b))
+      .map(([_id, count]) => ({ _id, count }));
+  };
+
+  const statusData = applyCounts(analytics.statusData, delta.status);
+  const categoryData = applyCounts(analytics.categoryData, delta.category);
+  const ratingSums = new Map(analytics.ratingData.map((row) => [row._id, row.ratingSum]));
+  Object.entries(delta.ratingSum).forEach(([key, change]) => {
+    ratingSums.set(key, (ratingSums.get(key) || 0) + change);
+  });
+  const ratingData = categoryData.map(({ _id, count }) => {
+    const ratingSum = ratingSums.get(_id) || 0;
+    return { _id, count, ratingSum, averageRating: ratingSum / count };
+  });
+
+  const totalCount = ratingData.reduce((sum, row) => sum + row.count, 0);
+  const totalRating = ratingData.reduce((sum, row) => sum + row.ratingSum, 0);
+  return {
+    statusData,
+    categoryData,
+    ratingData,
+    averageRating: totalCount > 0 ? totalRating / totalCount : 0,
+  };
+};
+
 // --- 4. The Main Dashboard Component ---
 const AdminDashboard = () => {
   // --- 5. State Management ---
@@ -48,8 +87,11 @@ const AdminDashboard = () => {
   // Get the navigate function from React Router
   const navigate = useNavigate();
 
-  // State to hold the master list of all feedback
+  // State to hold the feedback pages loaded so far
   const [feedbackList, setFeedbackList] = useState([]);
+  // Cursor for the next page (null when there are no more pages)
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   // State to hold the analytics data (status counts, category counts)
   const [analytics, setAnalytics] = useState(null);
   // State to show a loading message while we fetch data
@@ -61,26 +103,65 @@ const AdminDashboard = () => {
   const [filterStatus, setFilterStatus] = useState("all"); // Default: show all
   const [filterCategory, setFilterCategory] = useState("all"); // Default: show all
 
-  // --- 6. Data Fetching Effect ---
-  // This useEffect hook runs once when the component first loads
+  // Full-text search: what is typed, and the search actually sent to the server
+  const [searchInput, setSearchInput] = useState("");
+  const [searchQuery, setSearchQuery] = useState("");
+  // Next search results page (null when there are no more)
+  const [nextSearchPage, setNextSearchPage] = useState(null);
+
+  // Bumped when the live stream says the dashboard may have missed updates;
+  // both data effects then load everything again (without the loading screen)
+  const [reloadKey, setReloadKey] = useState(0);
+  const lastReloadKey = useRef(0);
+
+  // The filters are sent to the server, so "all" means "no filter"
+  const filterParams = useMemo(
+    () => ({
+      status: filterStatus === "all" ? undefined : filterStatus,
+      category: filterCategory === "all" ? undefined : filterCategory,
+    }),
+    [filterStatus, filterCategory]
+  );
+
+  // The live update handlers need the current filters, not the ones of the first render
+  const viewRef = useRef({ filterParams, searchQuery });
+  viewRef.current = { filterParams, searchQuery };
+
+  // --- 6. Data Fetching Effects ---
+  // The analytics are loaded once; after that the live updates keep them current
+  useEffect(() => {
+    AdminService.getAnalytics()
+      .then((res) => setAnalytics(res.data))
+      .catch((err) => {
+        setError("Failed to fetch admin data.");
+        console.error("Error fetching analytics:", err);
+      });
+  }, [reloadKey]);
+
+  // The first page of feedback is (re)loaded whenever the filters change
   useEffect(() => {
-    // We define an async function to fetch our data
-    const fetchData = async () => {
+    // A live resync reloads quietly; only filter changes show the loading screen
+    const quiet = reloadKey !== lastReloadKey.current;
+    lastReloadKey.current = reloadKey;
+
+    const fetchFirstPage = async () => {
       try {
-        setLoading(true);
+        if (!quiet) setLoading(true);
         setError(""); // Clear previous errors
 
-        // Use Promise.all to run both API calls in parallel for speed
-        const [feedbackRes, analyticsRes] = await Promise.all([
-          AdminService.getAllFeedback(),
-          AdminService.getAnalytics(),
-        ]);
-
-        // Set the data into our state
-        setFeedbackList(feedbackRes.data);
-        setAnalytics(analyticsRes.data);
+        if (searchQuery) {
+          // Searching: results come ranked by relevance, with the same filters applied
+          const res = await AdminService.searchFeedback({ ...filterParams, q: searchQuery, page: 0 });
+          setFeedbackList(res.data.items);
+          setNextSearchPage(res.data.hasMore ? 1 : null);
+          setNextCursor(null);
+        } else {
+          const res = await AdminService.getAllFeedback(filterParams);
+          setFeedbackList(res.data.items);
+          setNextCursor(res.data.nextCursor);
+          setNextSearchPage(null);
+        }
       } catch (err) {
-        // If either API call fails, set an error message
         setError("Failed to fetch admin data.");
         console.error("Error fetching admin data:", err);
       } finally {
@@ -89,8 +170,83 @@ const AdminDashboard = () => {
       }
     };
 
-    fetchData(); // Call the function
-  }, []); // The empty array `[]` means this effect only runs ONCE
+    fetchFirstPage();
+  }, [filterParams, searchQuery, reloadKey]);
+
+  // Live updates: new feedback, status changes and replies are applied as they happen
+  useEffect(() => {
+    const controller = new AbortController();
+    const resync = () => setReloadKey((key) => key + 1);
+
+    // Does a new feedback row belong on the page currently shown?
+    const isShown = (feedback) => {
+      const { filterParams: filters, searchQuery: query } = viewRef.current;
+      // Search results are ranked by relevance, so new rows are not slotted in
+      return (
+        !query &&
+        (!filters.status || filters.status === feedback.status) &&
+        (!filters.category || filters.category === feedback.category)
+      );
+    };
+
+    const updateStatus = ({ id, status }) => {
+      const { filterParams: filters } = viewRef.current;
+      setFeedbackList((prev) =>
+        prev
+          .map((row) =>
+            row.feedback.id === id ? { ...row, feedback: { ...row.feedback, status } } : row
+          )
+          // A row that no longer matches the status filter leaves the table
+          .filter((row) => row.feedback.id !== id || !filters.status || filters.status === status)
+      );
+    };
+
+    let connectedBefore = false;
+    const handleEvent = (name, data) => {
+      switch (name) {
+        case "ready":
+          // Anything may have happened while we were disconnected
+          if (connectedBefore) resync();
+          connectedBefore = true;
+          break;
+        case "feedback-created":
+          if (isShown(data.feedback)) {
+            setFeedbackList((prev) =>
+              prev.some((row) => row.feedback.id === data.feedback.id) ? prev : [data, ...prev]
+            );
+          }
+          break;
+        case "status-changed":
+        case "reply-posted":
+          updateStatus(data);
+          break;
+        case "analytics-delta":
+          setAnalytics((prev) => (prev ? applyAnalyticsDelta(prev, data) : prev));
+          break;
+        case "resync":
+          resync();
+          break;
+        default:
+          break;
+      }
+    };
+
+    const listen = async () => {
+      while (!controller.signal.aborted) {
+        try {
+          await AdminService.subscribeToEvents(handleEvent, controller.signal);
+        } catch (err) {
+          if (controller.signal.aborted) return;
+          if (err.status === 404) return; // Live updates are switched off on the server
+          console.error("Live updates disconnected:", err);
+        }
+        await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+      }
+    };
+
+    listen();
+    return () => controller.abort();
+  }, []);
 
   // --- 7. Event Handlers ---
 
@@ -100,6 +256,37 @@ const AdminDashboard = () => {
     navigate("/login"); // Send user to login page
   };
 
+  // Handle the "Load more" button: appends the next page to the table
+  const handleLoadMore = async () => {
+    try {
+      setLoadingMore(true);
+      if (searchQuery) {
+        const res = await AdminService.searchFeedback({
+          ...filterParams,
+          q: searchQuery,
+          page: nextSearchPage,
+        });
+        setFeedbackList((prev) => [...prev, ...res.data.items]);
+        setNextSearchPage(res.data.hasMore ? nextSearchPage + 1 : null);
+      } else {
+        const res = await AdminService.getAllFeedback({ ...filterParams, cursor: nextCursor });
+        setFeedbackList((prev) => [...prev, ...res.data.items]);
+        setNextCursor(res.data.nextCursor);
+      }
+    } catch (err) {
+      setError("Failed to fetch admin data.");
+      console.error("Error fetching more feedback:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Handle the search form: the search runs when it is submitted, not on every keystroke
+  const handleSearchSubmit = (e) => {
+    e.preventDefault();
+    setSearchQuery(searchInput.trim());
+  };
+
   // Handle the "View" button click (Module 5)
   // This function takes the ID of the feedback and navigates to the detail page
   const handleViewClick = (id) => {
@@ -140,22 +327,7 @@ const AdminDashboard = () => {
     };
   }, [analytics]); // Dependency: only run when `analytics` changes
 
-  // --- 9. Filtering Logic for Table ---
-  // We use `useMemo` again to create a new *filtered* list.
-  // This runs only when the master list or the filters change.
-  const filteredFeedback = useMemo(() => {
-    return feedbackList
-      .filter((item) => {
-        // If filter is "all", this is true. Otherwise, check for a match.
-        return filterStatus === "all" || item.feedback.status === filterStatus;
-      })
-      .filter((item) => {
-        // Chain another filter for category
-        return filterCategory === "all" || item.feedback.category === filterCategory;
-      });
-  }, [feedbackList, filterStatus, filterCategory]); // Dependencies
-
-  // --- 10. Helper Functions ---
+  // --- 9. Helper Functions ---
   // Simple function to make the date string look nice
   const formatDate = (dateString) => {
     const options = {
@@ -168,7 +340,7 @@ const AdminDashboard = () => {
     return new Date(dateString).toLocaleDateString(undefined, options);
   };
 
-  // --- 11. Render Logic ---
+  // --- 10. Render Logic ---
   // Show a loading message while fetching
   if (loading) {
     return <div className="admin-dashboard-loading">Loading Admin Dashboard...</div>;
@@ -219,6 +391,19 @@ const AdminDashboard = () => {
 
         {/* --- FILTER CONTROLS --- */}
         <div className="filter-controls">
+          <form className="filter-group search-form" onSubmit={handleSearchSubmit}>
+            <label htmlFor="search-input">Search:</label>
+            <input
+              id="search-input"
+              type="search"
+              placeholder="Words in feedback or replies"
+              value={searchInput}
+              onChange={(e) => setSearchInput(e.target.value)}
+            />
+            <button type="submit" className="action-button">
+              Search
+            </button>
+          </form>
           <div className="filter-group">
             <label htmlFor="status-filter">Filter by Status:</label>
             <select
@@ -265,9 +450,9 @@ const AdminDashboard = () => {
               </tr>
             </thead>
             <tbody>
-              {/* We map over the `filteredFeedback` list, not the master list */}
-              {filteredFeedback.length > 0 ? (
-                filteredFeedback.map(({ feedback, studentName, studentEmail }) => (
+              {/* The server already applied the filters to these pages */}
+              {feedbackList.length > 0 ? (
+                feedbackList.map(({ feedback, studentName, studentEmail }) => (
                   <tr key={feedback.id}>
                     {/* Show a shortened ID for cleanliness */}
                     <td title={feedback.id}>{feedback.id.substring(0, 8)}...</td>
@@ -307,6 +492,13 @@ const AdminDashboard = () => {
             </tbody>
           </table>
         </div>
+
+        {/* --- PAGINATION --- */}
+        {(searchQuery ? nextSearchPage !== null : nextCursor) && (
+          <button onClick={handleLoadMore} disabled={loadingMore} className="action-button">
+            {loadingMore ? "Loading..." : "Load more"}
+          </button>
+        )}
       </section>
     </div>
   );
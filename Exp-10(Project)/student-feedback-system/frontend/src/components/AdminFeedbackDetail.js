@@ -16,6 +16,11 @@ const AdminFeedbackDetail = () => {
   const [replyContent, setReplyContent] = useState("");
   const [isSubmitting, setIsSubmitting] = useState(false);
 
+  // Older comments of long threads are loaded page by page, on demand
+  const [olderComments, setOlderComments] = useState([]);
+  const [nextOlderPage, setNextOlderPage] = useState(undefined); // undefined = newest page, null = no more
+  const [loadingOlder, setLoadingOlder] = useState(false);
+
   // Helper function to format dates
   const formatDate = (dateString) => {
     const options = {
@@ -53,16 +58,45 @@ const AdminFeedbackDetail = () => {
     const newStatus = e.target.value;
     try {
       // 1. Call the API to update the status
-      const updatedFeedback = await AdminService.updateFeedbackStatus(id, newStatus);
+      const updatedFeedback = await AdminService.updateFeedbackStatus(
+        id,
+        newStatus,
+        feedbackData.feedback.version
+      );
       
       // 2. Update the state locally to show the change instantly
       setFeedbackData((prevData) => ({
         ...prevData,
         feedback: updatedFeedback.data, // The API returns the updated feedback object
       }));
+      setError("");
+    } catch (err) {
+      if (err.response && err.response.status === 409) {
+        // Someone else changed this feedback meanwhile: show their version instead
+        setFeedbackData((prevData) => ({
+          ...prevData,
+          feedback: err.response.data,
+        }));
+        setError("This feedback was just updated by another admin. Please review it and try again.");
+      } else {
+        setError("Failed to update status.");
+      }
+      console.error(err);
+    }
+  };
+
+  // Loads the next page of older comments and puts it above the ones already shown
+  const handleLoadOlder = async () => {
+    try {
+      setLoadingOlder(true);
+      const res = await AdminService.getThreadPage(id, nextOlderPage);
+      setOlderComments((prev) => [...res.data.comments, ...prev]);
+      setNextOlderPage(res.data.olderPage);
     } catch (err) {
-      setError("Failed to update status.");
+      setError("Failed to load older comments.");
       console.error(err);
+    } finally {
+      setLoadingOlder(false);
     }
   };
 
@@ -80,6 +114,12 @@ const AdminFeedbackDetail = () => {
       // 1. Call the API to post the reply
       const updatedFeedback = await AdminService.postReply(id, replyContent);
       
+      // If this reply moved older comments out of the thread, start the history over
+      if (updatedFeedback.data.archivedComments !== feedbackData.feedback.archivedComments) {
+        setOlderComments([]);
+        setNextOlderPage(undefined);
+      }
+
       // 2. Update the state with the new comment and status
       setFeedbackData((prevData) => ({
         ...prevData,
@@ -205,7 +245,25 @@ const AdminFeedbackDetail = () => {
       <div className="thread-section">
         <h3>Conversation Thread</h3>
         <div className="thread-container">
-          {feedback.thread.length === 0 ? (
+          {feedback.archivedComments > 0 && nextOlderPage !== null && (
+            <button
+              className="load-older-button"
+              onClick={handleLoadOlder}
+              disabled={loadingOlder}
+            >
+              {loadingOlder ? "Loading..." : "Load older comments"}
+            </button>
+          )}
+          {olderComments.map((comment, index) => (
+            <div key={`older-${index}`} className="comment-bubble admin-comment">
+              <p className="comment-content">{comment.content}</p>
+              <div className="comment-meta">
+                <strong>Admin</strong>
+                <span>{formatDate(comment.timestamp)}</span>
+              </div>
+            </div>
+          ))}
+          {feedback.thread.length === 0 && olderComments.length === 0 ? (
             <p>No replies yet.</p>
           ) : (
             feedback.thread.map((comment, index) => (
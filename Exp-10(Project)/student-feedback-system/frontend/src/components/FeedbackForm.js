@@ -61,8 +61,13 @@ const FeedbackForm = () => {
         navigate("/dashboard");
       }, 2000);
     } catch (err) {
-      // 5. Handle failure
-      setError("Failed to submit feedback. Please try again.");
+      // 5. Handle failure (429 means the server is busy and asks us to come back shortly)
+      if (err.response && err.response.status === 429) {
+        const retryAfter = err.response.headers["retry-after"] || "a few";
+        setError(`Too many submissions right now. Please try again in ${retryAfter} seconds.`);
+      } else {
+        setError("Failed to submit feedback. Please try again.");
+      }
       setLoading(false);
       console.error("Submission error:", err);
     }
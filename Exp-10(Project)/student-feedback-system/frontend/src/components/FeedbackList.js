@@ -1,8 +1,30 @@
-import React from "react";
+import React, { useState } from "react";
 // import { Link } from "react-router-dom"; // We don't need this yet
+import FeedbackService from "../services/FeedbackService";
 import "./FeedbackList.css"; // We will update this file next
 
 const FeedbackList = ({ feedbackItems }) => {
+  // The list only contains summaries, so threads are loaded on demand.
+  // Maps a feedback ID to its loaded thread (array of comments).
+  const [threads, setThreads] = useState({});
+
+  // Loads (or hides) the conversation thread of one feedback item
+  const toggleThread = async (id) => {
+    if (threads[id]) {
+      setThreads((prev) => {
+        const { [id]: _, ...rest } = prev;
+        return rest;
+      });
+      return;
+    }
+    try {
+      const res = await FeedbackService.getMyFeedbackById(id);
+      setThreads((prev) => ({ ...prev, [id]: res.data.thread || [] }));
+    } catch (err) {
+      console.error("Error loading conversation:", err);
+    }
+  };
+
   if (feedbackItems.length === 0) {
     return <p>You have not submitted any feedback yet.</p>;
   }
@@ -59,10 +81,17 @@ const FeedbackList = ({ feedbackItems }) => {
           </div>
 
           {/* --- NEW: Conversation Thread Section --- */}
-          {item.thread && item.thread.length > 0 && (
+          {item.threadSize > 0 && (
+            <button className="thread-toggle" onClick={() => toggleThread(item.id)}>
+              {threads[item.id]
+                ? "Hide conversation"
+                : `Show conversation (${item.threadSize}) · last reply ${formatDate(item.lastActivityAt)}`}
+            </button>
+          )}
+          {threads[item.id] && threads[item.id].length > 0 && (
             <div className="thread-preview-container">
               <h4 className="thread-preview-title">Conversation Thread</h4>
-              {item.thread.map((comment, index) => (
+              {threads[item.id].map((comment, index) => (
                 <div key={index} className="comment-bubble admin-comment">
                   <p className="comment-content">{comment.content}</p>
                   <div className="comment-meta">
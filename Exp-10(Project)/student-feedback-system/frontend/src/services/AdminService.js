@@ -18,10 +18,22 @@ const authHeader = () => {
 };
 
 /**
- * Fetches all feedback for the admin dashboard. (Module 4)
+ * Fetches one page of feedback for the admin dashboard. (Module 4)
+ * The backend returns { items: [...], nextCursor: "..." }; pass nextCursor
+ * back as `cursor` to load the following page.
+ * @param {object} params - Optional { status, category, cursor, limit }
  */
-const getAllFeedback = () => {
-  return axios.get(API_URL + "/feedback", { headers: authHeader() });
+const getAllFeedback = (params = {}) => {
+  return axios.get(API_URL + "/feedback", { headers: authHeader(), params });
+};
+
+/**
+ * Full-text search over feedback and replies, most relevant first.
+ * The backend returns { items: [...], page: 0, hasMore: true }.
+ * @param {object} params - { q, status, category, minRating, maxRating, from, to, page, limit }
+ */
+const searchFeedback = (params) => {
+  return axios.get(API_URL + "/feedback/search", { headers: authHeader(), params });
 };
 
 /**
@@ -44,12 +56,14 @@ const getFeedbackById = (id) => {
  * Updates the status of a feedback item.
  * @param {string} id - The ID of the feedback
  * @param {string} status - The new status (e.g., "in_progress")
+ * @param {number} version - The feedback version the admin is looking at.
+ *   If someone else changed it meanwhile, the backend answers 409 with the current feedback.
  */
-const updateFeedbackStatus = (id, status) => {
-  // The backend expects a StatusDTO object: { "status": "new_status" }
+const updateFeedbackStatus = (id, status, version) => {
+  // The backend expects a StatusDTO object: { "status": "new_status", "version": 3 }
   return axios.put(
     API_URL + `/feedback/${id}/status`,
-    { status },
+    { status, version },
     { headers: authHeader() }
   );
 };
@@ -68,12 +82,76 @@ const postReply = (id, content) => {
   );
 };
 
+/**
+ * Fetches one page of the older (archived) comments of a long thread.
+ * @param {string} id - The ID of the feedback
+ * @param {number} page - The page to load; leave it out for the newest archived page
+ */
+const getThreadPage = (id, page) => {
+  return axios.get(API_URL + `/feedback/${id}/thread`, {
+    headers: authHeader(),
+    params: page === undefined ? {} : { page },
+  });
+};
+
+/**
+ * Opens the live dashboard event stream (Server-Sent Events) and calls
+ * onEvent(name, data) for every event until the stream ends.
+ * EventSource cannot send the Authorization header, so the stream is read with fetch.
+ * @param {function} onEvent - Called with the event name and its parsed JSON data
+ * @param {AbortSignal} signal - Aborting it closes the stream
+ * @returns {Promise} Resolves when the server ends the stream, rejects on errors
+ */
+const subscribeToEvents = async (onEvent, signal) => {
+  const response = await fetch(API_URL + "/events", {
+    headers: { ...authHeader(), Accept: "text/event-stream" },
+    signal,
+  });
+  if (!response.ok) {
+    const error = new Error("Event stream refused: " + response.status);
+    error.status = response.status; // 404 when live updates are switched off
+    throw error;
+  }
+
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = "";
+  let name = "message";
+  let data = [];
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += value;
+    const lines = buffer.split(/\r?\n/);
+    buffer = lines.pop(); // The last line may be incomplete
+    for (const line of lines) {
+      if (line === "") {
+        // A blank line ends the event
+        if (data.length > 0) {
+          onEvent(name, JSON.parse(data.join("\n")));
+        }
+        name = "message";
+        data = [];
+      } else if (line.startsWith("event:")) {
+        name = line.slice(6).trim();
+      } else if (line.startsWith("data:")) {
+        data.push(line.slice(5).replace(/^ /, ""));
+      }
+      // ":" lines are keep-alive comments; "id:" is not needed
+    }
+  }
+};
+
 const AdminService = {
   getAllFeedback,
+  searchFeedback,
   getAnalytics,
   getFeedbackById,      // <-- ADDED
   updateFeedbackStatus, // <-- ADDED
   postReply,            // <-- ADDED
+  getThreadPage,
+  subscribeToEvents,
 };
 
 export default AdminService;
\ No newline at end of file
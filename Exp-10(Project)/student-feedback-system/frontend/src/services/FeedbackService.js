@@ -39,9 +39,21 @@ const getMyFeedback = () => {
   });
 };
 
+/**
+ * Fetches one of the student's own feedback items, including the full
+ * conversation thread (the list above only returns summaries).
+ * @param {string} id - The ID of the feedback
+ */
+const getMyFeedbackById = (id) => {
+  return axios.get(API_URL + `/my-feedback/${id}`, {
+    headers: authHeader(),
+  });
+};
+
 const FeedbackService = {
   submitFeedback,
   getMyFeedback, // <-- Add the new function to the export
+  getMyFeedbackById,
 };
 
 export default FeedbackService;
\ No newline at end of file